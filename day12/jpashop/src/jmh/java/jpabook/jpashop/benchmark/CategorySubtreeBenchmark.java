@@ -0,0 +1,102 @@
+package jpabook.jpashop.benchmark;
+
+import jpabook.jpashop.domain.Category;
+import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.repository.CategoryRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 최상위 카테고리 하나의 하위 트리 + 상품 조회 비교
+ * - 트리: fanout 6, 5단계 (6 + 36 + 216 + 1296 + 7776 = 9330 개)
+ * - recursive: getChild(), getItems() 지연 로딩으로 내려가며 수집 (default_batch_fetch_size 적용)
+ * - path: path like '루트경로%' 쿼리 한번
+ * 실행: ./gradlew jmh -PjmhIncludes=CategorySubtreeBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class CategorySubtreeBenchmark {
+
+    @Param({"9330"})
+    private int categories;
+
+    @Param({"6"})
+    private int fanout;
+
+    @Param({"10000"})
+    private int items;
+
+    private ConfigurableApplicationContext context;
+    private CategoryRepository categoryRepository;
+    private EntityManager em;
+    private TransactionTemplate tx;
+    private Statistics statistics;
+    private List<Long> rootIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(
+                "spring.profiles.active=loadtest",
+                "jpashop.loadtest.categories=" + categories,
+                "jpashop.loadtest.category-fanout=" + fanout,
+                "jpashop.loadtest.items=" + items,
+                "jpashop.loadtest.members=1",
+                "jpashop.loadtest.orders=0");
+        categoryRepository = context.getBean(CategoryRepository.class);
+        em = context.getBean(EntityManager.class);
+        tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        tx.setReadOnly(true);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        rootIds = tx.execute(status -> em.createQuery(
+                        "select c.id from Category c where c.parent is null", Long.class)
+                .getResultList());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private Object call(SqlCounter sql, Function<Category, Collection<Item>> subtreeItems) {
+        Long rootId = rootIds.get(ThreadLocalRandom.current().nextInt(rootIds.size()));
+        long before = statistics.getPrepareStatementCount();
+        Object result = tx.execute(status -> subtreeItems.apply(categoryRepository.findOne(rootId)));
+        sql.statements += statistics.getPrepareStatementCount() - before;
+        sql.calls++;
+        return result;
+    }
+
+    @Benchmark
+    public Object recursive(SqlCounter sql) {
+        return call(sql, root -> {
+            Set<Item> result = new HashSet<>();
+            collect(root, result);
+            return result;
+        });
+    }
+
+    @Benchmark
+    public Object path(SqlCounter sql) {
+        return call(sql, categoryRepository::findItemsInSubtree);
+    }
+
+    private void collect(Category category, Set<Item> result) {
+        result.addAll(category.getItems());
+        for (Category child : category.getChild()) {
+            collect(child, result);
+        }
+    }
+}
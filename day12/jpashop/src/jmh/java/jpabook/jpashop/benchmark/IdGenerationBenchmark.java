@@ -0,0 +1,91 @@
+package jpabook.jpashop.benchmark;
+
+import jpabook.jpashop.domain.OrderItem;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.domain.item.Item;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OrderItem 100만건 저장 - 시퀀스 allocationSize 별 시간 / DB 왕복 횟수
+ * - allocationSize=1 : 기존 @GeneratedValue 처럼 row 마다 시퀀스 호출
+ * - allocationSize=50, 1000 : pooled-lo
+ * 실행: ./gradlew jmh -PjmhIncludes=IdGenerationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class IdGenerationBenchmark {
+
+    @Param({"1", "50", "1000"})
+    private int allocationSize;
+
+    @Param({"1000000"})
+    private int rows;
+
+    private static final int FLUSH_SIZE = 1000;
+
+    private ConfigurableApplicationContext context;
+    private EntityManagerFactory emf;
+    private Statistics statistics;
+    private Long itemId;
+
+    /** 측정 결과에 같이 출력되는 DB 왕복 횟수 */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class RoundTrips {
+        public long statements;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(
+                "spring.jpa.properties.jpashop.id.allocation_size=" + allocationSize);
+        emf = context.getBean(EntityManagerFactory.class);
+        statistics = emf.unwrap(SessionFactory.class).getStatistics();
+
+        EntityManager em = emf.createEntityManager();
+        em.getTransaction().begin();
+        Book book = new Book();
+        book.setName("JPA BOOK");
+        book.setPrice(10000);
+        book.setStockQuantity(Integer.MAX_VALUE);
+        em.persist(book);
+        em.getTransaction().commit();
+        em.close();
+        itemId = book.getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void persistOrderItems(RoundTrips roundTrips) {
+        long before = statistics.getPrepareStatementCount();
+
+        EntityManager em = emf.createEntityManager();
+        em.getTransaction().begin();
+        Item item = em.getReference(Item.class, itemId);
+        for (int i = 1; i <= rows; i++) {
+            em.persist(OrderItem.createReservedOrderItem(item, 10000, 1));
+            if (i % FLUSH_SIZE == 0) {
+                em.flush();
+                em.clear();
+                item = em.getReference(Item.class, itemId);
+            }
+        }
+        em.getTransaction().commit();
+        em.close();
+
+        roundTrips.statements += statistics.getPrepareStatementCount() - before;
+    }
+}
@@ -0,0 +1,93 @@
+package jpabook.jpashop.benchmark;
+
+import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.service.ItemService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 상품 카탈로그 조회 - 2차 캐시 / 쿼리 캐시 사용 여부 비교
+ * - findItems(): 주문 폼(OrderController.createForm) 마다 호출
+ * - findOne(): 상품 단건, 매 호출이 새 트랜잭션(새 영속성 컨텍스트)이라 1차 캐시 효과 없음
+ * 실행: ./gradlew jmh -PjmhIncludes=ItemCatalogBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class ItemCatalogBenchmark {
+
+    @Param({"false", "true"})
+    private boolean secondLevelCache;
+
+    @Param({"1000"})
+    private int items;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private Statistics statistics;
+    private List<Long> itemIds;
+
+    /** 호출당 SQL 실행 수, 2차 캐시 적중 수 */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Cache {
+        public long statements;
+        public long l2Hits;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            statements = 0;
+            l2Hits = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(
+                "spring.profiles.active=loadtest",
+                "jpashop.loadtest.items=" + items,
+                "jpashop.loadtest.members=1",
+                "jpashop.loadtest.orders=0",
+                "jpashop.loadtest.categories=0",
+                "spring.jpa.properties.hibernate.cache.use_second_level_cache=" + secondLevelCache,
+                "spring.jpa.properties.hibernate.cache.use_query_cache=" + secondLevelCache);
+        itemService = context.getBean(ItemService.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        itemIds = itemService.findItems().stream().map(Item::getId).collect(Collectors.toList());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object findItems(Cache cache) {
+        long statements = statistics.getPrepareStatementCount();
+        long hits = statistics.getSecondLevelCacheHitCount();
+        List<Item> result = itemService.findItems();
+        cache.statements += statistics.getPrepareStatementCount() - statements;
+        cache.l2Hits += statistics.getSecondLevelCacheHitCount() - hits;
+        return result;
+    }
+
+    @Benchmark
+    public Object findOne(Cache cache) {
+        Long itemId = itemIds.get(ThreadLocalRandom.current().nextInt(itemIds.size()));
+        long statements = statistics.getPrepareStatementCount();
+        long hits = statistics.getSecondLevelCacheHitCount();
+        Item result = itemService.findOne(itemId);
+        cache.statements += statistics.getPrepareStatementCount() - statements;
+        cache.l2Hits += statistics.getSecondLevelCacheHitCount() - hits;
+        return result;
+    }
+}
@@ -0,0 +1,121 @@
+package jpabook.jpashop.benchmark;
+
+import jpabook.jpashop.api.OrderApiController;
+import jpabook.jpashop.api.OrderSimpleApiController;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import javax.persistence.EntityManagerFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 주문 조회 API 버전별 성능 비교 (메모리 H2, LoadTestDb 로 데이터 생성)
+ * - ops/s, SQL 실행 수(statementsPerCall), 할당량(-prof gc, build.gradle 에 설정)
+ * - open-in-view 가 꺼져 있으므로 지연 로딩이 필요한 V1, V2 를 위해 호출마다 읽기 전용 트랜잭션으로 감싼다
+ * 실행: ./gradlew jmh -PjmhIncludes=OrderApiBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class OrderApiBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int orders;
+
+    private ConfigurableApplicationContext context;
+    private OrderSimpleApiController simpleApi;
+    private OrderApiController orderApi;
+    private TransactionTemplate tx;
+    private Statistics statistics;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(
+                "spring.profiles.active=loadtest",
+                "jpashop.loadtest.orders=" + orders,
+                "jpashop.loadtest.members=" + Math.max(1, orders / 10),
+                "jpashop.loadtest.items=" + Math.max(1, orders / 10),
+                "jpashop.loadtest.categories=0");
+        simpleApi = context.getBean(OrderSimpleApiController.class);
+        orderApi = context.getBean(OrderApiController.class);
+        tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        tx.setReadOnly(true);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private Object call(SqlCounter sql, Supplier<Object> api) {
+        long before = statistics.getPrepareStatementCount();
+        Object result = tx.execute(status -> api.get());
+        sql.statements += statistics.getPrepareStatementCount() - before;
+        sql.calls++;
+        return result;
+    }
+
+    //==xToOne (simple-orders)==//
+    @Benchmark
+    public Object simpleV2_lazyDto(SqlCounter sql) {
+        return call(sql, () -> simpleApi.ordersV2());
+    }
+
+    @Benchmark
+    public Object simpleV3_fetchJoin(SqlCounter sql) {
+        return call(sql, () -> simpleApi.ordersV3());
+    }
+
+    @Benchmark
+    public Object simpleV4_dtoQuery(SqlCounter sql) {
+        return call(sql, () -> simpleApi.ordersV4());
+    }
+
+    //==컬렉션 (orders)==//
+    @Benchmark
+    public Object v1_lazyLoop(SqlCounter sql) {
+        return call(sql, () -> orderApi.ordersV1());
+    }
+
+    @Benchmark
+    public Object v2_dtoConversion(SqlCounter sql) {
+        return call(sql, () -> orderApi.ordersV2());
+    }
+
+    @Benchmark
+    public Object v3_fetchJoin(SqlCounter sql) {
+        return call(sql, () -> orderApi.ordersV3());
+    }
+
+    @Benchmark
+    public Object v3_1_pagingBatchFetch(SqlCounter sql) {
+        return call(sql, () -> orderApi.ordersV3_page(0, 100));
+    }
+
+    @Benchmark
+    public Object v4_dtoQueryNPlusOne(SqlCounter sql) {
+        return call(sql, () -> orderApi.ordersV4());
+    }
+
+    @Benchmark
+    public Object v5_dtoQueryInMap(SqlCounter sql) {
+        return call(sql, () -> orderApi.ordersV5());
+    }
+
+    @Benchmark
+    public Object v6_flat(SqlCounter sql) {
+        return call(sql, () -> orderApi.ordersV6());
+    }
+
+    @Benchmark
+    public Object v7_keyset(SqlCounter sql) {
+        return call(sql, () -> orderApi.ordersV7(null, 100));
+    }
+}
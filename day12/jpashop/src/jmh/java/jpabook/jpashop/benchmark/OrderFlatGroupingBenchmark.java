@@ -0,0 +1,69 @@
+package jpabook.jpashop.benchmark;
+
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.OrderStatus;
+import jpabook.jpashop.repository.order.query.OrderFlatDto;
+import jpabook.jpashop.repository.order.query.OrderItemQueryDto;
+import jpabook.jpashop.repository.order.query.OrderQueryDto;
+import org.openjdk.jmh.annotations.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.stream.Collectors.*;
+import static jpabook.jpashop.repository.order.query.OrderQueryDtoCollector.toOrderQueryDtos;
+
+/**
+ * V6 flat 결과를 OrderQueryDto 로 묶는 비용 비교
+ * - streamGroupingBy: 기존 ordersV6() 방식 (row 마다 해시 엔트리, 순서 유실)
+ * - adjacentRun: order by o.id 정렬을 이용한 한번 훑기
+ * 실행: ./gradlew jmh -PjmhIncludes=OrderFlatGroupingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class OrderFlatGroupingBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int rows;
+
+    private List<OrderFlatDto> flats;
+
+    @Setup
+    public void setUp() {
+        flats = new ArrayList<>(rows);
+        Address address = new Address("서울", "1", "1111");
+        LocalDateTime now = LocalDateTime.now();
+        long orderId = 0;
+        while (flats.size() < rows) {
+            orderId++;
+            int itemCount = 1 + ThreadLocalRandom.current().nextInt(5); //주문당 상품 1~5개
+            for (int i = 0; i < itemCount && flats.size() < rows; i++) {
+                flats.add(new OrderFlatDto(orderId, "member" + orderId, now, OrderStatus.ORDER,
+                        address, "item" + i, 10000, i + 1));
+            }
+        }
+    }
+
+    @Benchmark
+    public List<OrderQueryDto> streamGroupingBy() {
+        return flats.stream()
+                .collect(groupingBy(o -> new OrderQueryDto(o.getOrderId(),
+                                o.getName(), o.getOrderDate(), o.getOrderStatus(), o.getAddress()),
+                        mapping(o -> new OrderItemQueryDto(o.getOrderId(),
+                                o.getItemName(), o.getOrderPrice(), o.getCount()), toList())
+                )).entrySet().stream()
+                .map(e -> new OrderQueryDto(e.getKey().getOrderId(),
+                        e.getKey().getName(), e.getKey().getOrderDate(), e.getKey().getOrderStatus(),
+                        e.getKey().getAddress(), e.getValue()))
+                .collect(toList());
+    }
+
+    @Benchmark
+    public List<OrderQueryDto> adjacentRun() {
+        return flats.stream()
+                .collect(toOrderQueryDtos());
+    }
+}
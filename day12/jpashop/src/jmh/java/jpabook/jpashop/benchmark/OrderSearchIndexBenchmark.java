@@ -0,0 +1,126 @@
+package jpabook.jpashop.benchmark;
+
+import jpabook.jpashop.domain.OrderSearch;
+import jpabook.jpashop.domain.OrderStatus;
+import jpabook.jpashop.repository.MemberRepositoryOld;
+import jpabook.jpashop.repository.OrderRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import javax.persistence.EntityManager;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 조회 인덱스(@Table(indexes), db/migration/V1__add_query_indexes.sql) 유무에 따른 조회 지연시간
+ * - indexes=false 이면 기동 후 인덱스를 drop 해서 인덱스 없는 상태를 만든다 (FK 인덱스는 남는다)
+ * - 주문 100만, 회원 10만 (메모리 H2 라 힙을 넉넉하게 준다)
+ * 실행: ./gradlew jmh -PjmhIncludes=OrderSearchIndexBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class OrderSearchIndexBenchmark {
+
+    private static final String[] INDEXES = {
+            "idx_orders_status_order_date",
+            "idx_orders_member_status",
+            "idx_orders_total_price",
+            "idx_member_name",
+            "idx_order_item_order_item"};
+
+    @Param({"false", "true"})
+    private boolean indexes;
+
+    @Param({"1000000"})
+    private int orders;
+
+    @Param({"100000"})
+    private int members;
+
+    private ConfigurableApplicationContext context;
+    private OrderRepository orderRepository;
+    private MemberRepositoryOld memberRepository;
+    private EntityManager em;
+    private TransactionTemplate tx;
+    private long minOrderId;
+    private long maxOrderId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(
+                "spring.profiles.active=loadtest",
+                "jpashop.loadtest.orders=" + orders,
+                "jpashop.loadtest.members=" + members,
+                "jpashop.loadtest.items=10000",
+                "jpashop.loadtest.categories=0");
+        orderRepository = context.getBean(OrderRepository.class);
+        memberRepository = context.getBean(MemberRepositoryOld.class);
+        em = context.getBean(EntityManager.class);
+        tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        tx.setReadOnly(true);
+
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        if (!indexes) {
+            for (String index : INDEXES) {
+                jdbc.execute("drop index if exists " + index);
+            }
+        }
+        jdbc.execute("analyze"); //H2 선택도 통계 갱신
+        minOrderId = jdbc.queryForObject("select min(order_id) from orders", Long.class);
+        maxOrderId = jdbc.queryForObject("select max(order_id) from orders", Long.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private String randomMemberName() {
+        return "member" + ThreadLocalRandom.current().nextInt(members);
+    }
+
+    /** OrderRepository.findAll: status = ? and m.name like ? */
+    @Benchmark
+    public Object searchByStatusAndName() {
+        OrderSearch orderSearch = new OrderSearch();
+        orderSearch.setOrderStatus(OrderStatus.ORDER);
+        orderSearch.setMemberName(randomMemberName());
+        return tx.execute(status -> orderRepository.findAll(orderSearch));
+    }
+
+    /** 회원 이름 = ? */
+    @Benchmark
+    public Object findMemberByName() {
+        String name = randomMemberName();
+        return tx.execute(status -> memberRepository.findByName(name));
+    }
+
+    /** 최근 주문 100건 (status = ? order by order_date desc) */
+    @Benchmark
+    public Object recentOrdersByStatus() {
+        return tx.execute(status -> em.createQuery(
+                        "select o.id from Order o" +
+                                " where o.status = :status" +
+                                " order by o.orderDate desc", Long.class)
+                .setParameter("status", OrderStatus.CANCEL)
+                .setMaxResults(100)
+                .getResultList());
+    }
+
+    /** 주문 하나의 주문상품 (order_id = ?) */
+    @Benchmark
+    public Object orderItemsByOrder() {
+        long orderId = ThreadLocalRandom.current().nextLong(minOrderId, maxOrderId + 1);
+        return tx.execute(status -> em.createQuery(
+                        "select oi.item.id from OrderItem oi" +
+                                " where oi.order.id = :orderId", Long.class)
+                .setParameter("orderId", orderId)
+                .getResultList());
+    }
+}
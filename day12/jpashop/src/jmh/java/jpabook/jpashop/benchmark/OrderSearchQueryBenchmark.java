@@ -0,0 +1,92 @@
+package jpabook.jpashop.benchmark;
+
+import jpabook.jpashop.domain.OrderSearch;
+import jpabook.jpashop.domain.OrderStatus;
+import jpabook.jpashop.repository.OrderRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주문 검색 JPQL 생성/파싱 비용 비교 (데이터를 작게 해서 쿼리 준비 비용이 드러나도록)
+ * - string: findAllByString, 호출마다 JPQL 문자열 생성 -> 쿼리 플랜 캐시 조회
+ * - criteria: findAllByCriteria, 호출마다 Criteria 트리 생성 -> JPQL 렌더링 -> 플랜 캐시
+ * - named: findAllByNamedQuery, 고정된 @NamedQuery 문자열 -> 플랜 캐시
+ * - planCacheMaxSize=1 이면 조건 조합 4개가 번갈아 들어오므로 셋 다 매 호출 파싱한다 (파싱 비용 확인용)
+ * - 8 스레드로 2k rps 이상을 내면서 호출당 지연시간/할당량(-prof gc)을 본다
+ * 실행: ./gradlew jmh -PjmhIncludes=OrderSearchQueryBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(8)
+public class OrderSearchQueryBenchmark {
+
+    @Param({"1", "512"})
+    private int planCacheMaxSize;
+
+    private ConfigurableApplicationContext context;
+    private OrderRepository orderRepository;
+    private TransactionTemplate tx;
+
+    /** 스레드마다 조건 조합 4개를 돌아가며 사용 */
+    @State(Scope.Thread)
+    public static class Searches {
+        final OrderSearch[] searches = new OrderSearch[4];
+        int next;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            for (int i = 0; i < searches.length; i++) {
+                searches[i] = new OrderSearch();
+                searches[i].setOrderStatus((i & 1) == 0 ? null : OrderStatus.ORDER);
+                searches[i].setMemberName((i & 2) == 0 ? null : "member7");
+            }
+        }
+
+        OrderSearch next() {
+            return searches[next++ & 3];
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(
+                "spring.profiles.active=loadtest",
+                "jpashop.loadtest.orders=100",
+                "jpashop.loadtest.members=10",
+                "jpashop.loadtest.items=10",
+                "jpashop.loadtest.categories=0",
+                "spring.jpa.properties.hibernate.query.plan_cache_max_size=" + planCacheMaxSize);
+        orderRepository = context.getBean(OrderRepository.class);
+        tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        tx.setReadOnly(true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object string(Searches searches) {
+        OrderSearch orderSearch = searches.next();
+        return tx.execute(status -> orderRepository.findAllByString(orderSearch));
+    }
+
+    @Benchmark
+    public Object criteria(Searches searches) {
+        OrderSearch orderSearch = searches.next();
+        return tx.execute(status -> orderRepository.findAllByCriteria(orderSearch));
+    }
+
+    @Benchmark
+    public Object named(Searches searches) {
+        OrderSearch orderSearch = searches.next();
+        return tx.execute(status -> orderRepository.findAllByNamedQuery(orderSearch));
+    }
+}
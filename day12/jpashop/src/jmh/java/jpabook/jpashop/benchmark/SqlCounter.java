@@ -0,0 +1,24 @@
+package jpabook.jpashop.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * 호출당 SQL 실행 수 (벤치마크 메서드 파라미터로 받아 statements, calls 를 누적한다)
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.EVENTS)
+public class SqlCounter {
+
+    public long statements;
+    public long calls;
+
+    public double statementsPerCall() {
+        return calls == 0 ? 0 : (double) statements / calls;
+    }
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        statements = 0;
+        calls = 0;
+    }
+}
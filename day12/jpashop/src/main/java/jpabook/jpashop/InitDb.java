@@ -3,12 +3,14 @@ package jpabook.jpashop;
 import jpabook.jpashop.domain.*;
 import jpabook.jpashop.domain.item.Book;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 import javax.annotation.PostConstruct;
 import javax.persistence.EntityManager;
 
 @Component
+@Profile("!loadtest") //부하 테스트는 LoadTestDb 가 데이터를 만든다
 @RequiredArgsConstructor
 public class InitDb {
 
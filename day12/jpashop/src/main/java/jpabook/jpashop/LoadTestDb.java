@@ -0,0 +1,253 @@
+package jpabook.jpashop;
+
+import jpabook.jpashop.domain.*;
+import jpabook.jpashop.domain.item.Album;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.domain.item.Movie;
+import jpabook.jpashop.repository.MemberNameIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 부하 테스트용 대량 데이터 생성 (spring.profiles.active=loadtest, InitDb 대신 실행)
+ * - 회원 N, 상품 M(Book/Album/Movie), 카테고리 트리, 주문 K
+ * - 주문당 상품 수는 1개가 가장 많고 갈수록 줄어드는 분포, 인기 상품에 주문이 몰리도록 생성
+ * - StatelessSession(영속성 컨텍스트 X) + JDBC batch 로 여러 스레드가 나눠서 insert
+ */
+@Slf4j
+@Component
+@Profile("loadtest")
+@RequiredArgsConstructor
+public class LoadTestDb {
+
+    private final EntityManagerFactory emf;
+
+    @Value("${jpashop.loadtest.members:100000}")
+    private int memberCount;
+    @Value("${jpashop.loadtest.items:10000}")
+    private int itemCount;
+    @Value("${jpashop.loadtest.categories:1000}")
+    private int categoryCount;
+    @Value("${jpashop.loadtest.category-fanout:10}")
+    private int categoryFanout;
+    @Value("${jpashop.loadtest.orders:1000000}")
+    private int orderCount;
+    @Value("${jpashop.loadtest.max-items-per-order:10}")
+    private int maxItemsPerOrder;
+    @Value("${jpashop.loadtest.threads:4}")
+    private int threads;
+    @Value("${jpashop.loadtest.chunk-size:5000}")
+    private int chunkSize;
+
+    @PostConstruct
+    public void init() {
+        SessionFactory sessionFactory = emf.unwrap(SessionFactory.class);
+        long start = System.currentTimeMillis();
+
+        Member[] members = new Member[memberCount];
+        inChunks(sessionFactory, "member", memberCount, (session, from, to) -> {
+            for (int i = from; i < to; i++) {
+                members[i] = createMember(i);
+                session.insert(members[i]);
+            }
+            //StatelessSession 은 이벤트 리스너를 타지 않으므로 이름 색인을 직접 넣는다
+            session.doWork(connection -> MemberNameIndex.insert(connection, Arrays.asList(members).subList(from, to)));
+        });
+
+        Item[] items = new Item[itemCount];
+        inChunks(sessionFactory, "item", itemCount, (session, from, to) -> {
+            for (int i = from; i < to; i++) {
+                items[i] = createItem(i);
+                session.insert(items[i]);
+            }
+        });
+
+        insertCategories(sessionFactory, items);
+
+        AtomicLong orderItemCount = new AtomicLong();
+        inChunks(sessionFactory, "order", orderCount, (session, from, to) -> {
+            for (int i = from; i < to; i++) {
+                orderItemCount.addAndGet(insertOrder(session, members, items));
+            }
+        });
+
+        log.info("loadtest data: members={}, items={}, categories={}, orders={}, orderItems={} ({}ms)",
+                memberCount, itemCount, categoryCount, orderCount, orderItemCount.get(),
+                System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 카테고리는 fanout 개씩 자식을 갖는 트리로 만들고, 상품마다 카테고리 하나에 연결한다
+     */
+    private void insertCategories(SessionFactory sessionFactory, Item[] items) {
+        if (categoryCount == 0) {
+            return;
+        }
+        Category[] categories = new Category[categoryCount];
+        inChunks(sessionFactory, "category", 1, (session, from, to) -> {
+            for (int i = 0; i < categoryCount; i++) {
+                Category category = new Category();
+                category.setName("category" + i);
+                if (i >= categoryFanout) {
+                    categories[i / categoryFanout - 1].addChildCategory(category); //BFS 순서로 부모 지정, path 도 같이 만든다
+                } else {
+                    category.getPath(); //StatelessSession 은 @PrePersist 를 타지 않으므로 루트 path 를 미리 만든다
+                }
+                session.insert(category);
+                categories[i] = category;
+            }
+        });
+
+        inChunks(sessionFactory, "category_item", items.length, (session, from, to) ->
+                session.doWork(connection -> {
+                    try (PreparedStatement ps = connection.prepareStatement(
+                            "insert into category_item (category_id, item_id) values (?, ?)")) {
+                        for (int i = from; i < to; i++) {
+                            Category category = categories[ThreadLocalRandom.current().nextInt(categoryCount)];
+                            ps.setLong(1, category.getId());
+                            ps.setLong(2, items[i].getId());
+                            ps.addBatch();
+                        }
+                        ps.executeBatch();
+                    }
+                }));
+    }
+
+    private int insertOrder(StatelessSession session, Member[] members, Item[] items) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Member member = members[random.nextInt(members.length)];
+
+        Delivery delivery = new Delivery();
+        delivery.setAddress(member.getAddress());
+        delivery.setStatus(random.nextInt(10) < 7 ? DeliveryStatus.COMP : DeliveryStatus.READY);
+        session.insert(delivery);
+
+        //주문당 상품 수: 1개 50%, 2개 25%, 3개 12.5% ... (최대 maxItemsPerOrder)
+        int lines = 1;
+        while (lines < maxItemsPerOrder && random.nextBoolean()) {
+            lines++;
+        }
+        OrderItem[] orderItems = new OrderItem[lines];
+        for (int i = 0; i < lines; i++) {
+            //r^3 으로 앞쪽(인기) 상품에 주문이 몰리도록
+            double r = random.nextDouble();
+            Item item = items[(int) (items.length * r * r * r)];
+            orderItems[i] = OrderItem.createReservedOrderItem(item, item.getPrice(), 1 + random.nextInt(3));
+        }
+
+        //member.orders 에 쌓이지 않도록 id 만 가진 회원으로 연결
+        Order order = Order.createOrder(memberRef(member), delivery, orderItems);
+        order.setOrderDate(LocalDateTime.now().minusMinutes(random.nextInt(60 * 24 * 365)));
+        if (random.nextInt(10) == 0) {
+            order.setStatus(OrderStatus.CANCEL);
+        }
+        session.insert(order);
+        for (OrderItem orderItem : orderItems) {
+            session.insert(orderItem);
+        }
+        return lines;
+    }
+
+    private interface ChunkTask {
+        void run(StatelessSession session, int from, int to);
+    }
+
+    /**
+     * [0, total) 를 chunkSize 로 나눠서 스레드마다 StatelessSession, 트랜잭션을 따로 열고 insert
+     */
+    private void inChunks(SessionFactory sessionFactory, String name, int total, ChunkTask task) {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int from = 0; from < total; from += chunkSize) {
+            int chunkFrom = from;
+            int chunkTo = Math.min(from + chunkSize, total);
+            futures.add(executor.submit(() -> {
+                StatelessSession session = sessionFactory.openStatelessSession();
+                Transaction tx = session.beginTransaction();
+                try {
+                    task.run(session, chunkFrom, chunkTo);
+                    tx.commit();
+                } catch (RuntimeException e) {
+                    tx.rollback();
+                    throw e;
+                } finally {
+                    session.close();
+                }
+            }));
+        }
+        executor.shutdown();
+
+        long start = System.currentTimeMillis();
+        try {
+            for (int i = 0; i < futures.size(); i++) {
+                futures.get(i).get();
+                if ((i + 1) % 100 == 0) {
+                    log.info("loadtest {}: {}/{}", name, Math.min((long) (i + 1) * chunkSize, total), total);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+            throw new IllegalStateException("loadtest 데이터 생성이 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            executor.shutdownNow();
+            throw new IllegalStateException("loadtest " + name + " 생성 실패", e.getCause());
+        }
+        log.info("loadtest {}: {} rows ({}ms)", name, total, System.currentTimeMillis() - start);
+    }
+
+    private Member createMember(int i) {
+        Member member = new Member();
+        member.setName("member" + i);
+        member.setAddress(new Address("city" + (i % 100), "street" + (i % 1000), String.valueOf(10000 + i % 90000)));
+        return member;
+    }
+
+    private Member memberRef(Member member) {
+        Member ref = new Member();
+        ref.setId(member.getId());
+        return ref;
+    }
+
+    private Item createItem(int i) {
+        Item item;
+        switch (i % 3) {
+            case 0:
+                Book book = new Book();
+                book.setAuthor("author" + i);
+                book.setIsbn(String.valueOf(1000000000L + i));
+                item = book;
+                break;
+            case 1:
+                Album album = new Album();
+                album.setArtist("artist" + i);
+                item = album;
+                break;
+            default:
+                Movie movie = new Movie();
+                movie.setDirector("director" + i);
+                movie.setActor("actor" + i);
+                item = movie;
+        }
+        item.setName("item" + i);
+        item.setPrice(1000 * (1 + i % 50));
+        item.setStockQuantity(Integer.MAX_VALUE / 2);
+        return item;
+    }
+}
@@ -0,0 +1,57 @@
+package jpabook.jpashop.aop;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import javax.persistence.OptimisticLockException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * @RetryOnOptimisticLock 메서드를 낙관적 락 충돌 시 재시도
+ * - @Transactional 보다 바깥에서 실행되어야 재시도마다 새 트랜잭션이 열린다
+ * - 이미 바깥 트랜잭션 안에서 호출되면 재시도해도 같은 트랜잭션이라 의미가 없으므로 그대로 실행
+ * - 재시도/포기 횟수는 jpashop.optimistic-lock.retry / jpashop.optimistic-lock.exhausted 로 남긴다
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+@RequiredArgsConstructor
+public class OptimisticLockRetryAspect {
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("@annotation(retry)")
+    public Object retry(ProceedingJoinPoint joinPoint, RetryOnOptimisticLock retry) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+
+        String method = joinPoint.getSignature().toShortString();
+        long backoff = retry.backoffMillis();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return joinPoint.proceed();
+            } catch (ObjectOptimisticLockingFailureException | OptimisticLockException e) {
+                if (attempt >= retry.maxAttempts()) {
+                    meterRegistry.counter("jpashop.optimistic-lock.exhausted", "method", method).increment();
+                    throw e;
+                }
+                meterRegistry.counter("jpashop.optimistic-lock.retry", "method", method).increment();
+                log.debug("optimistic lock conflict, retry {}/{} {}", attempt, retry.maxAttempts(), method);
+
+                //여러 트랜잭션이 같은 순간에 다시 충돌하지 않도록 대기 시간을 흩뜨린다
+                Thread.sleep(backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1));
+                backoff *= 2;
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package jpabook.jpashop.aop;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 낙관적 락 충돌(@Version) 시 트랜잭션을 처음부터 다시 실행한다
+ * 비관적 락(select ... for update) 없이 동시 수정을 처리하기 위해 사용
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RetryOnOptimisticLock {
+
+    /** 최초 실행을 포함한 최대 시도 횟수 */
+    int maxAttempts() default 3;
+
+    /** 첫 재시도 대기 시간(ms), 재시도마다 2배 + 지터 */
+    long backoffMillis() default 10;
+}
@@ -1,6 +1,8 @@
 package jpabook.jpashop.api;
 
 import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.repository.order.summary.MemberOrderSummaryDto;
+import jpabook.jpashop.repository.order.summary.MemberOrderSummaryRepository;
 import jpabook.jpashop.service.MemberService;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -16,6 +18,7 @@ import java.util.stream.Collectors;
 public class MemberApiController {
 
     private final MemberService memberService;
+    private final MemberOrderSummaryRepository memberOrderSummaryRepository;
 
     @Data
     static class CreateMemberResponse {
@@ -94,4 +97,30 @@ public class MemberApiController {
         return new Result(collect.size(), collect);
     }
 
-}
\ No newline at end of file
+    @Data
+    @AllArgsConstructor
+    static class PageResult<T> {
+        private long totalCount;
+        private int offset;
+        private int limit;
+        private List<T> data;
+    }
+
+    /**
+     * 회원별 주문 요약 (주문 수, 총 주문금액, 마지막 주문시간)
+     * snapshot=true 이면 주기적으로 다시 만드는 요약 테이블에서 조회 (대시보드용)
+     */
+    @GetMapping("/api/members/order-summary")
+    public PageResult<MemberOrderSummaryDto> memberOrderSummary(
+            @RequestParam(value = "offset", defaultValue = "0") int offset,
+            @RequestParam(value = "limit", defaultValue = "100") int limit,
+            @RequestParam(value = "snapshot", defaultValue = "false") boolean snapshot) {
+        if (snapshot) {
+            return new PageResult<>(memberOrderSummaryRepository.countSummariesFromTable(), offset, limit,
+                    memberOrderSummaryRepository.findSummariesFromTable(offset, limit));
+        }
+        return new PageResult<>(memberOrderSummaryRepository.countSummaries(), offset, limit,
+                memberOrderSummaryRepository.findSummaries(offset, limit));
+    }
+
+}
@@ -3,17 +3,34 @@ package jpabook.jpashop.api;
 import jpabook.jpashop.domain.*;
 import jpabook.jpashop.repository.*;
 import jpabook.jpashop.repository.order.query.OrderFlatDto;
-import jpabook.jpashop.repository.order.query.OrderItemQueryDto;
 import jpabook.jpashop.repository.order.query.OrderQueryDto;
 import jpabook.jpashop.repository.order.query.OrderQueryRepository;
+import jpabook.jpashop.service.OrderExportService;
+import jpabook.jpashop.service.OrderService;
+import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import javax.servlet.http.HttpServletResponse;
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.List;
 import static java.util.stream.Collectors.*;
+import static jpabook.jpashop.repository.order.query.OrderQueryDtoCollector.toOrderQueryDtos;
 
 @RestController
 @RequiredArgsConstructor
@@ -99,6 +116,55 @@ public class OrderApiController {
         return result;
     }
 
+    /**
+     * V7. 키셋(커서) 페이징
+     * - OrderQueryRepository 에서 DTO 로 바로 조회 (루트 1 + orderItems in 1), 지연 로딩 없음
+     * - 페이지 위치와 상관없이 쿼리 수와 비용이 일정
+     * - limit + 1 건을 조회해서 다음 페이지 존재 여부를 판단한다 (limit 은 최대 MAX_CURSOR_LIMIT)
+     */
+    @GetMapping("/api/v7/orders")
+    public CursorResult<List<OrderQueryDto>> ordersV7(@RequestParam(value = "after", required = false) String after,
+                                                      @RequestParam(value = "limit", defaultValue = "100") int limit) {
+        if (limit < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit은 1 이상이어야 합니다.");
+        }
+        limit = Math.min(limit, MAX_CURSOR_LIMIT);
+        List<OrderQueryDto> orders = orderQueryRepository.findOrderQueryDtosAfter(decodeCursor(after), limit + 1);
+
+        String nextCursor = null;
+        if (orders.size() > limit) {
+            orders = orders.subList(0, limit);
+            nextCursor = encodeCursor(orders.get(limit - 1).getOrderId());
+        }
+        return new CursorResult<>(orders, nextCursor);
+    }
+
+    private static final int MAX_CURSOR_LIMIT = 1000;
+
+    @Data
+    @AllArgsConstructor
+    static class CursorResult<T> {
+        private T data;
+        private String nextCursor; //다음 페이지가 없으면 null
+    }
+
+    //커서는 클라이언트가 해석하지 않도록 불투명한 문자열로 내려준다
+    private static String encodeCursor(Long orderId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(orderId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Long decodeCursor(String cursor) {
+        if (!StringUtils.hasText(cursor)) {
+            return null;
+        }
+        try {
+            return Long.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "잘못된 커서입니다. cursor=" + cursor, e);
+        }
+    }
+
     private final OrderQueryRepository orderQueryRepository;
     @GetMapping("/api/v4/orders")
     public List<OrderQueryDto> ordersV4() {
@@ -113,16 +179,57 @@ public class OrderApiController {
     @GetMapping("/api/v6/orders")
     public List<OrderQueryDto> ordersV6() {
         List<OrderFlatDto> flats = orderQueryRepository.findAllByDto_flat();
+        //order by o.id 로 정렬되어 있으므로 Map 없이 한번에 묶는다 (순서 유지)
         return flats.stream()
-                .collect(groupingBy(o -> new OrderQueryDto(o.getOrderId(),
-                                o.getName(), o.getOrderDate(), o.getOrderStatus(), o.getAddress()),
-                        mapping(o -> new OrderItemQueryDto(o.getOrderId(),
-                                o.getItemName(), o.getOrderPrice(), o.getCount()), toList())
-                )).entrySet().stream()
-                .map(e -> new OrderQueryDto(e.getKey().getOrderId(),
-                        e.getKey().getName(), e.getKey().getOrderDate(), e.getKey().getOrderStatus(),
-                        e.getKey().getAddress(), e.getValue()))
-                .collect(toList());
+                .collect(toOrderQueryDtos());
+    }
+
+    private final OrderService orderService;
+
+    @Data
+    static class CreateOrderRequest {
+        @NotNull
+        private Long memberId;
+        @NotEmpty
+        private List<@Valid @NotNull OrderLine> orderLines;
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class CreateOrderResponse {
+        private Long id;
+    }
+
+    /**
+     * 장바구니 여러 상품을 한 트랜잭션으로 주문
+     */
+    @PostMapping("/api/orders")
+    public CreateOrderResponse createOrder(@RequestBody @Valid CreateOrderRequest request) {
+        Long id = orderService.order(request.getMemberId(), request.getOrderLines());
+        return new CreateOrderResponse(id);
+    }
+
+    private final OrderExportService orderExportService;
+
+    /**
+     * 주문 전체 export (csv / json)
+     * ScrollableResults 로 읽은 row 를 바로 응답 스트림에 쓴다
+     */
+    @GetMapping("/api/orders/export")
+    public void exportOrders(@RequestParam(value = "format", defaultValue = "csv") String format,
+                             HttpServletResponse response) throws IOException {
+        if ("json".equalsIgnoreCase(format)) {
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            orderExportService.exportJson(response.getOutputStream());
+        } else if ("csv".equalsIgnoreCase(format)) {
+            response.setContentType("text/csv");
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"orders.csv\"");
+            orderExportService.exportCsv(response.getOutputStream());
+        } else {
+            throw new IllegalArgumentException("지원하지 않는 형식입니다. format=" + format);
+        }
     }
 
     // 캐시를 하려면 엔티티를 캐시하지 말고 DTO로 변환하여 캐시 해야 된다.
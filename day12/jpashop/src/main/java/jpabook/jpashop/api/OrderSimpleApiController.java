@@ -10,6 +10,7 @@ import jpabook.jpashop.repository.order.simplequery.OrderSimpleQueryRepository;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -93,4 +94,14 @@ public class OrderSimpleApiController {
         return orderSimpleQueryRepository.findOrderDtos();
     }
 
+    /**
+     * 주문 가격 높은 순 - 저장된 Order.totalPrice 로 정렬 (orderItems 조회 X)
+     */
+    @GetMapping("/api/v4/simple-orders/by-total-price")
+    public List<OrderSimpleQueryDto> ordersV4_byTotalPrice(
+            @RequestParam(value = "offset", defaultValue = "0") int offset,
+            @RequestParam(value = "limit", defaultValue = "100") int limit) {
+        return orderSimpleQueryRepository.findOrderDtosOrderByTotalPrice(offset, limit);
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,33 @@
+package jpabook.jpashop.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import java.util.Arrays;
+
+/**
+ * 주문 조회 DTO 캐시
+ * 엔티티가 아니라 DTO 를 캐시한다 (엔티티는 영속성 컨텍스트와 꼬일 수 있다)
+ * - 크기 / TTL 제한: jpashop.cache.order-query.spec (Caffeine spec)
+ * - recordStats -> 적중률, 로딩 시간, 제거 수가 cache.* 메트릭으로 나간다
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String ORDER_QUERY_DTOS = "orderQueryDtos";
+    public static final String ORDER_SIMPLE_QUERY_DTOS = "orderSimpleQueryDtos";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${jpashop.cache.order-query.spec:maximumSize=100,expireAfterWrite=60s,recordStats}") String spec) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCacheSpecification(spec);
+        cacheManager.setAllowNullValues(false);
+        cacheManager.setCacheNames(Arrays.asList(ORDER_QUERY_DTOS, ORDER_SIMPLE_QUERY_DTOS)); //시작 시점에 만들어야 메트릭에 등록된다
+        return cacheManager;
+    }
+}
@@ -0,0 +1,33 @@
+package jpabook.jpashop.cache;
+
+import jpabook.jpashop.service.OrderChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 주문이 바뀌면 커밋 이후에 주문 조회 DTO 캐시를 비운다
+ * 롤백된 주문은 캐시에 영향을 주지 않는다
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderQueryCacheEvictor {
+
+    private final CacheManager cacheManager;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderChanged(OrderChangedEvent event) {
+        clear(CacheConfig.ORDER_QUERY_DTOS);
+        clear(CacheConfig.ORDER_SIMPLE_QUERY_DTOS);
+    }
+
+    private void clear(String name) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
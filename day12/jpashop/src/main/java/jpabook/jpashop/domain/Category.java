@@ -1,19 +1,21 @@
 package jpabook.jpashop.domain;
 
 import jpabook.jpashop.domain.item.Item;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
 import javax.persistence.*;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
 
 import static javax.persistence.FetchType.LAZY;
 
 @Entity
+@Table(indexes = @Index(name = "idx_category_path", columnList = "path"))
 @Getter @Setter
 public class Category {
 
-    @Id @GeneratedValue
+    @Id @GeneratedValue(generator = "jpashop_seq")
     @Column(name = "category_id")
     private Long id;
 
@@ -23,8 +25,10 @@ public class Category {
     @JoinTable(name = "category_item",
             joinColumns = @JoinColumn(name = "category_id"),
             inverseJoinColumns = @JoinColumn(name = "item_id"))
-    private List<Item> items = new ArrayList<>();
+    @BatchSize(size = 100) //여러 카테고리의 items 를 in 쿼리 한번으로 초기화
+    private Set<Item> items = new HashSet<>(); //List(bag)는 변경 시 연결 row 를 전부 지우고 다시 넣는다
 
+    @Setter(AccessLevel.NONE) //addChildCategory 로만 바꾼다 (path 유지)
     @ManyToOne(fetch = LAZY)
     @JoinColumn(name = "parent_id")
     private Category parent;
@@ -32,10 +36,48 @@ public class Category {
     @OneToMany(mappedBy = "parent")
     private List<Category> child = new ArrayList<>();
 
+    /**
+     * 경로 구체화(materialized path): 루트부터 자신까지의 키를 이어 붙인 값 (예: /a1.../b2.../)
+     * 하위 트리 전체를 path like '부모경로%' 인덱스 조회 한번으로 찾는다
+     * id 는 persist 전에는 없으므로 처음 필요할 때(getPath, addChildCategory, persist) 만든 고유 키를 쓴다
+     * (필드 초기화로 만들면 조회되는 row 마다 UUID 를 생성한다)
+     */
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    @Column(length = 1000, nullable = false)
+    private String path;
+
+    public String getPath() {
+        if (path == null) {
+            path = "/" + UUID.randomUUID().toString().replace("-", "") + "/";
+        }
+        return path;
+    }
+
+    @PrePersist
+    private void prePersist() {
+        getPath();
+    }
+
     //==연관관계 메서드==//
+    public void addItem(Item item) {
+        items.add(item);
+        item.getCategories().add(this);
+    }
+
     public void addChildCategory(Category child) {
         this.child.add(child);
-        child.setParent(this);
+        child.parent = this;
+        child.movePathUnder(getPath());
+    }
+
+    /** 부모가 바뀌면 자신과 (이미 있는) 하위 카테고리 경로를 모두 다시 만든다 */
+    private void movePathUnder(String parentPath) {
+        String path = getPath();
+        String key = path.substring(path.lastIndexOf('/', path.length() - 2) + 1);
+        this.path = parentPath + key;
+        for (Category c : child) {
+            c.movePathUnder(this.path);
+        }
     }
 
 }
@@ -0,0 +1,12 @@
+package jpabook.jpashop.domain;
+
+/**
+ * 주문 검색의 회원 이름 조건 처리 방식
+ * 두 방식은 일치 기준이 다르므로 같은 검색어라도 결과가 다를 수 있다
+ * - LIKE: 검색어를 그대로 like 패턴으로 쓴다 (와일드카드가 없으면 정확히 일치, 대소문자 구분)
+ * - INDEXED: 대소문자 구분 없이 이름에 검색어가 포함된 회원 (3글자 미만은 대소문자 구분 앞부분 일치)
+ */
+public enum MemberNameSearchMode {
+    LIKE,    //m.name like :name (전체 스캔)
+    INDEXED  //MemberNameIndex 로 회원 id 를 먼저 찾고 주문 조회 (최대 1000명)
+}
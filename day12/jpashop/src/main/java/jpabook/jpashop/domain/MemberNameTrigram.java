@@ -0,0 +1,37 @@
+package jpabook.jpashop.domain;
+
+import lombok.*;
+import javax.persistence.*;
+import java.io.Serializable;
+
+/**
+ * 회원 이름 3글자 조각(trigram) -> 회원 id 색인 (MemberNameIndex 가 관리)
+ * PK(trigram, member_id) 가 그대로 조각별 회원 목록 인덱스가 된다
+ */
+@Entity
+@Table(name = "member_name_trigram")
+@IdClass(MemberNameTrigram.Key.class)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+public class MemberNameTrigram {
+
+    @Id
+    @Column(length = 3)
+    private String trigram;
+
+    @Id
+    @Column(name = "member_id")
+    private Long memberId;
+
+    @Getter
+    @EqualsAndHashCode
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private String trigram;
+        private Long memberId;
+    }
+}
@@ -0,0 +1,33 @@
+package jpabook.jpashop.domain;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 회원별 주문 요약 테이블 (대시보드용, MemberOrderSummaryRefresher 가 주기적으로 다시 채운다)
+ */
+@Entity
+@Immutable
+@Table(name = "member_order_summary")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class MemberOrderSummary {
+
+    @Id
+    @Column(name = "member_id")
+    private Long memberId;
+
+    private String name;
+
+    private long orderCount;
+
+    private long totalPrice;
+
+    private LocalDateTime lastOrderDate;
+
+    private LocalDateTime refreshedAt; //요약을 만든 시간
+}
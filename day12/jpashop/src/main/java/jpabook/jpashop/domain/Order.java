@@ -10,12 +10,24 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_status_order_date", columnList = "status, order_date"), //상태 검색 + 최근 주문 순
+        @Index(name = "idx_orders_member_status", columnList = "member_id, status"),      //회원 -> 주문 조인
+        @Index(name = "idx_orders_total_price", columnList = "total_price")})
+@NamedQueries({ //OrderSearch 조건 조합별 검색 쿼리 (OrderSearchQuery), 기동 시 파싱해서 검증
+        @NamedQuery(name = "Order.search",
+                query = "select o from Order o join o.member m"),
+        @NamedQuery(name = "Order.searchByStatus",
+                query = "select o from Order o join o.member m where o.status = :status"),
+        @NamedQuery(name = "Order.searchByName",
+                query = "select o from Order o join o.member m where m.name like :name"),
+        @NamedQuery(name = "Order.searchByStatusAndName",
+                query = "select o from Order o join o.member m where o.status = :status and m.name like :name")})
 @Getter @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)  // 생성자 protected
 public class Order {
 
-    @Id @GeneratedValue
+    @Id @GeneratedValue(generator = "jpashop_seq")
     @Column(name = "order_id")
     private Long id;
 
@@ -30,11 +42,24 @@ public class Order {
     @JoinColumn(name = "delivery_id")
     private Delivery delivery; //배송정보
 
+    @Column(name = "order_date") //idx_orders_status_order_date 에서 컬럼명으로 참조
     private LocalDateTime orderDate; //주문시간
 
     @Enumerated(EnumType.STRING)
     private OrderStatus status; //주문상태 [ORDER, CANCEL]
 
+    @Version
+    private Long version; //낙관적 락
+
+    /**
+     * 전체 주문 가격 (주문상품 가격 * 수량의 합을 저장해 둔다)
+     * 목록/정렬에서 orderItems 를 로딩하지 않도록 addOrderItem 에서 같이 갱신한다
+     * 취소해도 값은 그대로 두고 상태로 구분한다
+     */
+    @Setter(AccessLevel.NONE)
+    @Column(name = "total_price", nullable = false)
+    private int totalPrice;
+
     //==연관관계 메서드==//
     public void setMember(Member member) {
         this.member = member;
@@ -44,6 +69,7 @@ public class Order {
     public void addOrderItem(OrderItem orderItem) {
         orderItems.add(orderItem);
         orderItem.setOrder(this);
+        totalPrice += orderItem.getTotalPrice();
     }
 
     public void setDelivery(Delivery delivery) {
@@ -77,8 +103,8 @@ public class Order {
     }
 
     //==조회 로직==//
-    /** 전체 주문 가격 조회 */
-    public int getTotalPrice() {
+    /** 전체 주문 가격을 주문상품으로 다시 계산 (orderItems 를 로딩한다, 저장된 totalPrice 검증용) */
+    public int calculateTotalPrice() {
         int totalPrice = 0;
         for (OrderItem orderItem : orderItems) {
             totalPrice += orderItem.getTotalPrice();
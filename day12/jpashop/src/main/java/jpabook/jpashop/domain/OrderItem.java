@@ -9,12 +9,12 @@ import jpabook.jpashop.domain.item.Item;
 import javax.persistence.*;
 
 @Entity
-@Table(name = "order_item")
+@Table(name = "order_item", indexes = @Index(name = "idx_order_item_order_item", columnList = "order_id, item_id")) //주문 -> 주문상품 조회를 인덱스만으로
 @Getter @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)  // 생성자 protected
 public class OrderItem {
 
-    @Id @GeneratedValue
+    @Id @GeneratedValue(generator = "jpashop_seq")
     @Column(name = "order_item_id")
     private Long id;
 
@@ -41,6 +41,15 @@ public class OrderItem {
         return orderItem;
     }
 
+    /** 재고는 이미 차감된 상태(ItemRepository.removeStock)에서 주문상품만 생성 */
+    public static OrderItem createReservedOrderItem(Item item, int orderPrice, int count) {
+        OrderItem orderItem = new OrderItem();
+        orderItem.setItem(item);
+        orderItem.setOrderPrice(orderPrice);
+        orderItem.setCount(count);
+        return orderItem;
+    }
+
     //==비즈니스 로직==//
     /** 주문 취소 */
     public void cancel() {
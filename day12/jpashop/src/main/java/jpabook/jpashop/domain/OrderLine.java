@@ -0,0 +1,23 @@
+package jpabook.jpashop.domain;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+
+@Getter @Setter
+@NoArgsConstructor
+public class OrderLine {
+
+    @NotNull
+    private Long itemId; //주문 상품
+    @Positive
+    private int count; //주문 수량
+
+    public OrderLine(Long itemId, int count) {
+        this.itemId = itemId;
+        this.count = count;
+    }
+
+}
@@ -8,5 +8,6 @@ public class OrderSearch {
 
     private String memberName; //회원 이름
     private OrderStatus orderStatus;//주문 상태[ORDER, CANCEL]
+    private MemberNameSearchMode memberNameSearchMode = MemberNameSearchMode.LIKE; //회원 이름 검색 방식
 
 }
\ No newline at end of file
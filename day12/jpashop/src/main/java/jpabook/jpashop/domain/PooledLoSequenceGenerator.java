@@ -0,0 +1,33 @@
+package jpabook.jpashop.domain;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+import java.util.Properties;
+
+/**
+ * jpashop 엔티티 공통 id 생성기 (package-info.java 의 "jpashop_seq")
+ * - 엔티티(테이블)마다 시퀀스를 따로 쓴다 (예: orders_seq, order_item_seq)
+ * - pooled-lo: 시퀀스 한번 호출로 allocationSize 개의 id 를 메모리에서 나눠준다
+ * - allocationSize 는 spring.jpa.properties.jpashop.id.allocation_size 로 설정 (기본 50)
+ */
+public class PooledLoSequenceGenerator extends SequenceStyleGenerator {
+
+    public static final String ALLOCATION_SIZE = "jpashop.id.allocation_size";
+    public static final int DEFAULT_ALLOCATION_SIZE = 50;
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        int allocationSize = ConfigurationHelper.getInt(ALLOCATION_SIZE,
+                serviceRegistry.getService(ConfigurationService.class).getSettings(), DEFAULT_ALLOCATION_SIZE);
+
+        params.putIfAbsent(CONFIG_PREFER_SEQUENCE_PER_ENTITY, "true");
+        params.putIfAbsent(INCREMENT_PARAM, String.valueOf(allocationSize));
+        params.putIfAbsent(OPT_PARAM, StandardOptimizerDescriptor.POOLED_LO.getExternalName());
+        super.configure(type, params, serviceRegistry);
+    }
+}
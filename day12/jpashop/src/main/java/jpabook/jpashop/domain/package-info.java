@@ -0,0 +1,8 @@
+/**
+ * 모든 엔티티가 같이 쓰는 id 생성기 설정
+ * 사용: @Id @GeneratedValue(generator = "jpashop_seq")
+ */
+@GenericGenerator(name = "jpashop_seq", strategy = "jpabook.jpashop.domain.PooledLoSequenceGenerator")
+package jpabook.jpashop.domain;
+
+import org.hibernate.annotations.GenericGenerator;
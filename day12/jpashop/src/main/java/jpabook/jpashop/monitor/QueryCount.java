@@ -0,0 +1,68 @@
+package jpabook.jpashop.monitor;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 한 범위(HTTP 요청, 테스트 블록)에서 실행된 SQL / 엔티티 로딩 / 컬렉션 초기화 수
+ */
+public class QueryCount {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)*\\s*\\)");
+
+    private int statements;
+    private int entityLoads;
+    private int collectionFetches;
+    private final Map<String, Integer> shapes = new LinkedHashMap<>(); //SQL 모양별 실행 수
+
+    void statement(String sql) {
+        statements++;
+        shapes.merge(shape(sql), 1, Integer::sum);
+    }
+
+    void entityLoad() {
+        entityLoads++;
+    }
+
+    void collectionFetch() {
+        collectionFetches++;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public int getEntityLoads() {
+        return entityLoads;
+    }
+
+    public int getCollectionFetches() {
+        return collectionFetches;
+    }
+
+    /**
+     * 같은 모양의 SQL 이 threshold 번 이상 실행되었으면 N+1 로 의심한다
+     */
+    public List<String> suspectedNPlusOne(int threshold) {
+        return shapes.entrySet().stream()
+                .filter(e -> e.getValue() >= threshold)
+                .map(e -> e.getValue() + "x " + e.getKey())
+                .collect(Collectors.toList());
+    }
+
+    //공백, in (?, ?, ...) 개수 차이는 같은 모양으로 본다
+    static String shape(String sql) {
+        String shape = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        return IN_LIST.matcher(shape).replaceAll("(?)");
+    }
+
+    @Override
+    public String toString() {
+        return "statements=" + statements + ", entityLoads=" + entityLoads
+                + ", collectionFetches=" + collectionFetches;
+    }
+}
@@ -0,0 +1,44 @@
+package jpabook.jpashop.monitor;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * 요청별 SQL 카운트를 위한 하이버네이트 설정
+ * - StatementInspector: 실행되는 모든 SQL
+ * - PostLoad / InitializeCollection 이벤트: 엔티티 로딩, 컬렉션 초기화
+ */
+@Configuration
+public class QueryCountConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCountStatementInspector() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR,
+                (StatementInspector) sql -> {
+                    QueryCounter.statement(sql);
+                    return sql;
+                });
+    }
+
+    @Bean
+    public InitializingBean queryCountEventListeners(EntityManagerFactory emf) {
+        return () -> {
+            EventListenerRegistry registry = emf.unwrap(SessionFactoryImplementor.class)
+                    .getServiceRegistry().getService(EventListenerRegistry.class);
+            registry.appendListeners(EventType.POST_LOAD,
+                    (PostLoadEventListener) event -> QueryCounter.entityLoad());
+            registry.appendListeners(EventType.INIT_COLLECTION,
+                    (InitializeCollectionEventListener) event -> QueryCounter.collectionFetch());
+        };
+    }
+}
@@ -0,0 +1,70 @@
+package jpabook.jpashop.monitor;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * HTTP 요청마다 SQL 수를 세서 Micrometer 로 남기고, 같은 모양 SQL 이 반복되면 N+1 로 경고한다
+ * - jpashop.sql.statements / jpashop.sql.entity-loads / jpashop.sql.collection-fetches (uri 태그)
+ * - jpashop.sql.n-plus-one: N+1 의심 요청 수
+ */
+@Slf4j
+@Component
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final int nPlusOneThreshold;
+
+    public QueryCountFilter(MeterRegistry meterRegistry,
+                            @Value("${jpashop.query-count.n-plus-one-threshold:3}") int nPlusOneThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        QueryCount count = QueryCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            QueryCounter.stop(count);
+            record(request, count);
+        }
+    }
+
+    private void record(HttpServletRequest request, QueryCount count) {
+        if (count.getStatements() == 0) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+
+        summary("jpashop.sql.statements", uri).record(count.getStatements());
+        summary("jpashop.sql.entity-loads", uri).record(count.getEntityLoads());
+        summary("jpashop.sql.collection-fetches", uri).record(count.getCollectionFetches());
+
+        List<String> suspected = count.suspectedNPlusOne(nPlusOneThreshold);
+        if (!suspected.isEmpty()) {
+            meterRegistry.counter("jpashop.sql.n-plus-one", "uri", uri).increment();
+            log.warn("N+1 의심 {} {} ({}) {}", request.getMethod(), uri, count, suspected);
+        }
+    }
+
+    private DistributionSummary summary(String name, String uri) {
+        return DistributionSummary.builder(name)
+                .tag("uri", uri)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,41 @@
+package jpabook.jpashop.monitor;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * API 응답 헤더에 SQL 수를 내려준다 (개발용, jpashop.query-count.header=true)
+ * 본문을 쓰기 직전이라 컨트롤러에서 실행한 SQL 은 모두 세어진 상태
+ */
+@ControllerAdvice
+@ConditionalOnProperty(name = "jpashop.query-count.header", havingValue = "true")
+public class QueryCountHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String STATEMENTS = "X-Query-Count";
+    public static final String ENTITY_LOADS = "X-Entity-Load-Count";
+    public static final String COLLECTION_FETCHES = "X-Collection-Fetch-Count";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        QueryCount count = QueryCounter.current();
+        if (count != null) {
+            response.getHeaders().set(STATEMENTS, String.valueOf(count.getStatements()));
+            response.getHeaders().set(ENTITY_LOADS, String.valueOf(count.getEntityLoads()));
+            response.getHeaders().set(COLLECTION_FETCHES, String.valueOf(count.getCollectionFetches()));
+        }
+        return body;
+    }
+}
@@ -0,0 +1,71 @@
+package jpabook.jpashop.monitor;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * 현재 스레드에서 실행되는 SQL 을 센다
+ * 범위는 중첩될 수 있고, SQL 은 열려 있는 모든 범위에 같이 기록된다
+ *
+ * 테스트 사용 예:
+ *   QueryCount count = QueryCounter.count(() -> mockMvc.perform(get("/api/v3/orders")));
+ *   assertTrue(count.getStatements() <= 3);
+ */
+public final class QueryCounter {
+
+    private static final ThreadLocal<Deque<QueryCount>> SCOPES = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private QueryCounter() {
+    }
+
+    public interface Block {
+        void run() throws Exception;
+    }
+
+    public static QueryCount count(Block block) throws Exception {
+        QueryCount count = start();
+        try {
+            block.run();
+        } finally {
+            stop(count);
+        }
+        return count;
+    }
+
+    public static QueryCount start() {
+        QueryCount count = new QueryCount();
+        SCOPES.get().push(count);
+        return count;
+    }
+
+    public static void stop(QueryCount count) {
+        Deque<QueryCount> scopes = SCOPES.get();
+        scopes.remove(count);
+        if (scopes.isEmpty()) {
+            SCOPES.remove();
+        }
+    }
+
+    /** 가장 안쪽 범위, 없으면 null */
+    public static QueryCount current() {
+        return SCOPES.get().peek();
+    }
+
+    static void statement(String sql) {
+        for (QueryCount count : SCOPES.get()) {
+            count.statement(sql);
+        }
+    }
+
+    static void entityLoad() {
+        for (QueryCount count : SCOPES.get()) {
+            count.entityLoad();
+        }
+    }
+
+    static void collectionFetch() {
+        for (QueryCount count : SCOPES.get()) {
+            count.collectionFetch();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package jpabook.jpashop.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiFunction;
+
+/**
+ * where x.id in :ids 조회를 잘라서 실행한다
+ * - id 를 maxChunkSize(2의 거듭제곱으로 내림) 단위로 자른다
+ *   남은 조각의 2의 거듭제곱 패딩은 hibernate.query.in_clause_parameter_padding 이 맡는다
+ *   -> SQL 모양이 1, 2, 4, ... maxChunkSize 로 제한되어 statement 캐시를 재사용할 수 있다
+ * - parallelism > 1 이면 조각마다 별도 EntityManager(커넥션)로 동시에 조회한다
+ *   이 EntityManager 는 호출자의 트랜잭션에 참여하지 않으므로 아직 커밋되지 않은 변경(flush 한 것 포함)은 보이지 않는다
+ *   -> 같은 트랜잭션에서 쓴 데이터를 다시 읽어야 하면 loadInTransaction 을 사용한다
+ */
+@Component
+public class BatchedInLoader {
+
+    private final EntityManagerFactory emf;
+    private final int maxChunkSize;
+    private final ExecutorService executor;
+
+    public BatchedInLoader(EntityManagerFactory emf,
+                           @Value("${jpashop.in-query.max-chunk-size:512}") int maxChunkSize,
+                           @Value("${jpashop.in-query.parallelism:1}") int parallelism) {
+        if (maxChunkSize < 1) {
+            throw new IllegalArgumentException("maxChunkSize는 1 이상이어야 합니다.");
+        }
+        this.emf = emf;
+        this.maxChunkSize = Integer.highestOneBit(maxChunkSize);
+        this.executor = parallelism > 1 ? Executors.newFixedThreadPool(parallelism) : null;
+    }
+
+    /**
+     * @param em    순차 실행 시 사용할 현재 EntityManager
+     * @param ids   조회할 id (중복은 제거된다)
+     * @param query 조각 하나를 조회하는 쿼리
+     */
+    public <ID, R> List<R> load(EntityManager em, Collection<ID> ids,
+                                BiFunction<EntityManager, List<ID>, List<R>> query) {
+        List<List<ID>> chunks = chunk(ids);
+        if (chunks.isEmpty()) {
+            return new ArrayList<>();
+        }
+        if (executor == null || chunks.size() == 1) {
+            return loadSequential(em, chunks, query);
+        }
+        return loadParallel(chunks, query);
+    }
+
+    /**
+     * parallelism 설정과 상관없이 현재 EntityManager(트랜잭션)로 순서대로 조회한다
+     */
+    public <ID, R> List<R> loadInTransaction(EntityManager em, Collection<ID> ids,
+                                             BiFunction<EntityManager, List<ID>, List<R>> query) {
+        return loadSequential(em, chunk(ids), query);
+    }
+
+    private <ID, R> List<R> loadSequential(EntityManager em, List<List<ID>> chunks,
+                                           BiFunction<EntityManager, List<ID>, List<R>> query) {
+        List<R> result = new ArrayList<>();
+        for (List<ID> chunk : chunks) {
+            result.addAll(query.apply(em, chunk));
+        }
+        return result;
+    }
+
+    private <ID, R> List<R> loadParallel(List<List<ID>> chunks,
+                                         BiFunction<EntityManager, List<ID>, List<R>> query) {
+        List<CompletableFuture<List<R>>> futures = new ArrayList<>();
+        for (List<ID> chunk : chunks) {
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                EntityManager chunkEm = emf.createEntityManager();
+                try {
+                    return query.apply(chunkEm, chunk);
+                } finally {
+                    chunkEm.close();
+                }
+            }, executor));
+        }
+        List<R> result = new ArrayList<>();
+        for (CompletableFuture<List<R>> future : futures) {
+            result.addAll(future.join());
+        }
+        return result;
+    }
+
+    <ID> List<List<ID>> chunk(Collection<ID> ids) {
+        List<ID> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<List<ID>> chunks = new ArrayList<>();
+        for (int from = 0; from < distinct.size(); from += maxChunkSize) {
+            int to = Math.min(from + maxChunkSize, distinct.size());
+            chunks.add(new ArrayList<>(distinct.subList(from, to)));
+        }
+        return chunks;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package jpabook.jpashop.repository;
+
+import jpabook.jpashop.domain.Category;
+import jpabook.jpashop.domain.item.Item;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.springframework.stereotype.Repository;
+import javax.persistence.EntityManager;
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+@Repository
+@RequiredArgsConstructor
+public class CategoryRepository {
+
+    private static final int JDBC_BATCH_SIZE = 100; //hibernate.jdbc.batch_size 와 맞춘다
+
+    private final EntityManager em;
+    private final BatchedInLoader batchedInLoader;
+
+    public void save(Category category) {
+        em.persist(category);
+    }
+
+    public Category findOne(Long id) {
+        return em.find(Category.class, id);
+    }
+
+    /**
+     * 자신을 포함한 하위 카테고리 전체 (트리 깊이와 상관없이 쿼리 한번)
+     */
+    public List<Category> findSubtree(Category root) {
+        return em.createQuery(
+                        "select c from Category c" +
+                                " where c.path like :path" +
+                                " order by c.path", Category.class)
+                .setParameter("path", root.getPath() + "%")  //앞부분 일치 -> path 인덱스 사용
+                .getResultList();
+    }
+
+    /**
+     * 하위 트리 전체에 속한 상품 (category_item 조인 포함 쿼리 한번)
+     */
+    public List<Item> findItemsInSubtree(Category root) {
+        return em.createQuery(
+                        "select distinct i from Category c" +
+                                " join c.items i" +
+                                " where c.path like :path", Item.class)
+                .setParameter("path", root.getPath() + "%")
+                .getResultList();
+    }
+
+    /**
+     * 카테고리에 상품 여러개를 연결 (Category.items, Item.categories 컬렉션을 로딩하지 않는다)
+     * 이미 연결된 상품은 건너뛰고 나머지만 category_item 에 JDBC batch insert
+     * 벌크 연산이라 영속성 컨텍스트에 이미 로딩된 items, categories 컬렉션은 갱신되지 않는다
+     * @return 새로 연결된 상품 수
+     */
+    public int assignItems(Long categoryId, Collection<Long> itemIds) {
+        em.flush(); //컬렉션으로 바꾼 연결이 있으면 먼저 반영해야 중복 확인이 맞는다
+
+        //flush 한 연결은 이 트랜잭션에서만 보이므로 병렬(별도 커넥션) 조회를 쓰지 않는다
+        Set<Long> newItemIds = new LinkedHashSet<>(itemIds);
+        newItemIds.removeAll(batchedInLoader.loadInTransaction(em, newItemIds, (chunkEm, chunk) -> chunkEm.createQuery(
+                        "select i.id from Category c" +
+                                " join c.items i" +
+                                " where c.id = :categoryId" +
+                                " and i.id in :itemIds", Long.class)
+                .setParameter("categoryId", categoryId)
+                .setParameter("itemIds", chunk)
+                .getResultList()));
+        if (newItemIds.isEmpty()) {
+            return 0;
+        }
+
+        em.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(
+                    "insert into category_item (category_id, item_id) values (?, ?)")) {
+                int count = 0;
+                for (Long itemId : newItemIds) {
+                    ps.setLong(1, categoryId);
+                    ps.setLong(2, itemId);
+                    ps.addBatch();
+                    if (++count % JDBC_BATCH_SIZE == 0) {
+                        ps.executeBatch();
+                    }
+                }
+                ps.executeBatch();
+            }
+        });
+        return newItemIds.size();
+    }
+}
@@ -2,8 +2,10 @@ package jpabook.jpashop.repository;
 
 import jpabook.jpashop.domain.item.Item;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.QueryHints;
 import org.springframework.stereotype.Repository;
 import javax.persistence.EntityManager;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -25,7 +27,32 @@ public class ItemRepository {
     }
 
     public List<Item> findAll() {
-        return em.createQuery("select i from Item i",Item.class).getResultList();
+        return em.createQuery("select i from Item i",Item.class)
+                .setHint(QueryHints.HINT_CACHEABLE, true) //쿼리 캐시 -> id 목록, 엔티티는 2차 캐시에서
+                .getResultList();
+    }
+
+    public List<Item> findAllById(Collection<Long> ids) {
+        return em.createQuery("select i from Item i where i.id in :ids", Item.class)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+
+    /**
+     * 재고 차감을 update 한번으로 처리 (조회 후 변경 X)
+     * 재고가 부족하면 조건에 걸려서 0 건이 수정된다
+     * 벌크 연산이라 영속성 컨텍스트의 Item 은 갱신되지 않는다
+     * 2차 캐시의 item 영역과 Item 쿼리 캐시는 하이버네이트가 벌크 연산 후 비운다
+     */
+    public int removeStock(Long itemId, int quantity) {
+        return em.createQuery("update Item i" +
+                        " set i.stockQuantity = i.stockQuantity - :quantity," +
+                        " i.version = i.version + 1" +   //엔티티로 수정 중인 트랜잭션이 충돌을 감지하도록 버전 증가
+                        " where i.id = :itemId" +
+                        " and i.stockQuantity >= :quantity")
+                .setParameter("quantity", quantity)
+                .setParameter("itemId", itemId)
+                .executeUpdate();
     }
 
 }
\ No newline at end of file
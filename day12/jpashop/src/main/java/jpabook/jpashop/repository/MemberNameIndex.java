@@ -0,0 +1,147 @@
+package jpabook.jpashop.repository;
+
+import jpabook.jpashop.domain.Member;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+import javax.persistence.EntityManager;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.*;
+
+/**
+ * 회원 이름 부분 검색용 trigram 색인 (member_name_trigram)
+ * - 이름을 소문자 3글자 조각으로 나눠 (조각, 회원 id) 로 저장한다
+ * - 검색어의 조각을 모두 가진 회원 id 를 PK 인덱스로 찾고, 실제 포함 여부를 확인한다
+ *   -> like '%name%' 처럼 member 전체를 읽지 않는다
+ * - 색인은 MemberNameIndexConfig 의 하이버네이트 이벤트 리스너가 회원 저장/수정/삭제 시 같이 갱신한다
+ */
+@Repository
+@RequiredArgsConstructor
+public class MemberNameIndex {
+
+    private static final int GRAM = 3;
+    private static final int VERIFY_CHUNK_SIZE = 512;
+    private static final String INSERT_SQL = "insert into member_name_trigram (trigram, member_id) values (?, ?)";
+
+    private final EntityManager em;
+
+    /** 소문자 3글자 조각 (3글자 미만이면 빈 집합) */
+    public static Set<String> trigrams(String name) {
+        Set<String> result = new LinkedHashSet<>();
+        if (name == null) {
+            return result;
+        }
+        String normalized = name.trim().toLowerCase(Locale.ROOT);
+        for (int i = 0; i + GRAM <= normalized.length(); i++) {
+            result.add(normalized.substring(i, i + GRAM));
+        }
+        return result;
+    }
+
+    /**
+     * 회원 하나의 색인을 다시 쓴다 (영속성 컨텍스트를 거치지 않고 현재 커넥션으로)
+     */
+    public static void write(Connection connection, Long memberId, String name) throws SQLException {
+        delete(connection, memberId);
+        insert(connection, memberId, name);
+    }
+
+    /**
+     * 새 회원 하나의 색인을 추가 (기존 색인은 지우지 않는다)
+     */
+    public static void insert(Connection connection, Long memberId, String name) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL)) {
+            if (addBatch(ps, memberId, name) > 0) {
+                ps.executeBatch();
+            }
+        }
+    }
+
+    /**
+     * 새 회원들의 색인을 한번에 추가 (기존 색인은 지우지 않는다, 대량 생성용)
+     */
+    public static void insert(Connection connection, List<Member> members) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL)) {
+            int count = 0;
+            for (Member member : members) {
+                count += addBatch(ps, member.getId(), member.getName());
+            }
+            if (count > 0) {
+                ps.executeBatch();
+            }
+        }
+    }
+
+    private static int addBatch(PreparedStatement ps, Long memberId, String name) throws SQLException {
+        Set<String> trigrams = trigrams(name);
+        for (String trigram : trigrams) {
+            ps.setString(1, trigram);
+            ps.setLong(2, memberId);
+            ps.addBatch();
+        }
+        return trigrams.size();
+    }
+
+    public static void delete(Connection connection, Long memberId) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(
+                "delete from member_name_trigram where member_id = ?")) {
+            ps.setLong(1, memberId);
+            ps.executeUpdate();
+        }
+    }
+
+    /**
+     * 이름에 query 가 들어 있는 회원 id (id 순, 최대 limit 개)
+     * 3글자 미만 검색어는 조각이 없으므로 앞부분 일치(idx_member_name)로 찾는다
+     */
+    public List<Long> findMemberIds(String query, int limit) {
+        Set<String> trigrams = trigrams(query);
+        if (trigrams.isEmpty()) {
+            return em.createQuery(
+                            "select m.id from Member m" +
+                                    " where m.name like :prefix escape '!'" +
+                                    " order by m.id", Long.class)
+                    .setParameter("prefix", escapeLike(query.trim()) + "%")
+                    .setMaxResults(limit)
+                    .getResultList();
+        }
+
+        //후보를 VERIFY_CHUNK_SIZE 씩 나눠 읽고, 조각을 모두 가져도 순서가 다를 수 있으므로 실제로 포함하는지 확인
+        //limit 개가 차면 멈춘다 (대부분 첫 페이지에서 찬다)
+        String contains = "%" + escapeLike(query.trim().toLowerCase(Locale.ROOT)) + "%";
+        List<Long> result = new ArrayList<>();
+        for (int from = 0; result.size() < limit; from += VERIFY_CHUNK_SIZE) {
+            List<Long> candidates = em.createQuery(
+                            "select t.memberId from MemberNameTrigram t" +
+                                    " where t.trigram in :trigrams" +
+                                    " group by t.memberId" +
+                                    " having count(t.trigram) = :count" +
+                                    " order by t.memberId", Long.class)
+                    .setParameter("trigrams", trigrams)
+                    .setParameter("count", (long) trigrams.size())
+                    .setFirstResult(from)
+                    .setMaxResults(VERIFY_CHUNK_SIZE)
+                    .getResultList();
+            if (candidates.isEmpty()) {
+                break;
+            }
+            result.addAll(em.createQuery(
+                            "select m.id from Member m" +
+                                    " where m.id in :ids" +
+                                    " and lower(m.name) like :contains escape '!'" +
+                                    " order by m.id", Long.class)
+                    .setParameter("ids", candidates)
+                    .setParameter("contains", contains)
+                    .getResultList());
+            if (candidates.size() < VERIFY_CHUNK_SIZE) {
+                break;
+            }
+        }
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+}
@@ -0,0 +1,80 @@
+package jpabook.jpashop.repository;
+
+import jpabook.jpashop.domain.Member;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import javax.persistence.EntityManagerFactory;
+import java.util.Objects;
+
+/**
+ * Member 저장/이름 변경/삭제 시 member_name_trigram 색인을 같은 트랜잭션에서 갱신
+ * (StatelessSession 은 이벤트가 없으므로 LoadTestDb 는 직접 색인을 쓴다)
+ */
+@Configuration
+public class MemberNameIndexConfig {
+
+    @Bean
+    public InitializingBean memberNameIndexListener(EntityManagerFactory emf) {
+        return () -> {
+            EventListenerRegistry registry = emf.unwrap(SessionFactoryImplementor.class)
+                    .getServiceRegistry().getService(EventListenerRegistry.class);
+            Listener listener = new Listener();
+            registry.appendListeners(EventType.POST_INSERT, listener);
+            registry.appendListeners(EventType.POST_UPDATE, listener);
+            registry.appendListeners(EventType.POST_DELETE, listener);
+        };
+    }
+
+    static class Listener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            if (event.getEntity() instanceof Member) {
+                Member member = (Member) event.getEntity();
+                event.getSession().doWork(connection ->
+                        MemberNameIndex.insert(connection, member.getId(), member.getName())); //새 회원은 지울 색인이 없다
+            }
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            if (!(event.getEntity() instanceof Member)) {
+                return;
+            }
+            Member member = (Member) event.getEntity();
+            Object[] oldState = event.getOldState();
+            int name = event.getPersister().getEntityMetamodel().getPropertyIndex("name");
+            if (oldState != null && Objects.equals(oldState[name], member.getName())) {
+                return; //이름이 그대로면 색인도 그대로
+            }
+            event.getSession().doWork(connection ->
+                    MemberNameIndex.write(connection, member.getId(), member.getName()));
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            if (event.getEntity() instanceof Member) {
+                event.getSession().doWork(connection ->
+                        MemberNameIndex.delete(connection, (Long) event.getId()));
+            }
+        }
+
+        @Override
+        public boolean requiresPostCommitHandling(EntityPersister persister) {
+            return false;
+        }
+
+        @Override
+        @Deprecated //5.x 에서는 아직 구현해야 하는 추상 메서드
+        public boolean requiresPostCommitHanding(EntityPersister persister) {
+            return requiresPostCommitHandling(persister);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package jpabook.jpashop.repository;
 import jpabook.jpashop.domain.Member;
 import jpabook.jpashop.domain.Order;
 import jpabook.jpashop.domain.OrderSearch;
+import jpabook.jpashop.domain.OrderStatus;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.StringUtils;
@@ -11,6 +12,7 @@ import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
 import javax.persistence.criteria.*;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -75,6 +77,44 @@ public class OrderRepository {
         return query.getResultList();
     }
 
+    /**
+     * findAllByString 과 같은 검색을 조건 조합별 @NamedQuery 로 실행
+     * 호출마다 JPQL 문자열을 만들지 않고, 쿼리 플랜 캐시 키도 항상 같은 4개라 캐시에서 빠지지 않는다
+     */
+    public List<Order> findAllByNamedQuery(OrderSearch orderSearch) {
+        OrderSearchQuery searchQuery = OrderSearchQuery.of(orderSearch);
+        TypedQuery<Order> query = em.createNamedQuery(searchQuery.getQueryName(), Order.class)
+                .setMaxResults(1000); //최대 1000건
+        if (searchQuery.hasStatus()) {
+            query.setParameter("status", orderSearch.getOrderStatus());
+        }
+        if (searchQuery.hasName()) {
+            query.setParameter("name", orderSearch.getMemberName());
+        }
+        return query.getResultList();
+    }
+
+    /**
+     * 회원 id 로 주문 검색 (MemberNameIndex 로 이름 검색을 먼저 한 뒤 사용)
+     * idx_orders_member_status 인덱스로 회원별 주문만 읽는다
+     */
+    public List<Order> findAllByMemberIds(Collection<Long> memberIds, OrderStatus status) {
+        if (memberIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        String jpql = "select o from Order o join o.member m where m.id in :memberIds";
+        if (status != null) {
+            jpql += " and o.status = :status";
+        }
+        TypedQuery<Order> query = em.createQuery(jpql, Order.class)
+                .setParameter("memberIds", memberIds)
+                .setMaxResults(1000); //최대 1000건
+        if (status != null) {
+            query.setParameter("status", status);
+        }
+        return query.getResultList();
+    }
+
     public List<Order> findAllByCriteria(OrderSearch orderSearch) {
         CriteriaBuilder cb = em.getCriteriaBuilder();
         CriteriaQuery<Order> cq = cb.createQuery(Order.class);
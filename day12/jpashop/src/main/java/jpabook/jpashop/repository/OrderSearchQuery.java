@@ -0,0 +1,47 @@
+package jpabook.jpashop.repository;
+
+import jpabook.jpashop.domain.OrderSearch;
+import org.springframework.util.StringUtils;
+
+/**
+ * OrderSearch 조건 조합(상태 있음/없음 x 회원명 있음/없음) -> Order 엔티티의 @NamedQuery
+ * 검색마다 JPQL 문자열을 만들지 않고 기동 시 검증(파싱)된 쿼리 4개 중 하나를 쓴다
+ */
+enum OrderSearchQuery {
+
+    ALL("Order.search", false, false),
+    STATUS("Order.searchByStatus", true, false),
+    NAME("Order.searchByName", false, true),
+    STATUS_AND_NAME("Order.searchByStatusAndName", true, true);
+
+    private final String queryName;
+    private final boolean status;
+    private final boolean name;
+
+    OrderSearchQuery(String queryName, boolean status, boolean name) {
+        this.queryName = queryName;
+        this.status = status;
+        this.name = name;
+    }
+
+    static OrderSearchQuery of(OrderSearch orderSearch) {
+        boolean status = orderSearch.getOrderStatus() != null;
+        boolean name = StringUtils.hasText(orderSearch.getMemberName());
+        if (status) {
+            return name ? STATUS_AND_NAME : STATUS;
+        }
+        return name ? NAME : ALL;
+    }
+
+    String getQueryName() {
+        return queryName;
+    }
+
+    boolean hasStatus() {
+        return status;
+    }
+
+    boolean hasName() {
+        return name;
+    }
+}
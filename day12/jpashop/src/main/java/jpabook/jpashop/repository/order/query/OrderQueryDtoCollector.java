@@ -0,0 +1,81 @@
+package jpabook.jpashop.repository.order.query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+
+/**
+ * order by o.id 로 정렬된 OrderFlatDto 를 한번에 훑으면서 OrderQueryDto 로 묶는다
+ * - 같은 orderId 가 연속으로 나온다는 전제 -> 중간 Map 없이 직전 주문과만 비교
+ * - groupingBy 와 달리 SQL 정렬 순서가 그대로 유지된다
+ */
+public class OrderQueryDtoCollector implements Collector<OrderFlatDto, List<OrderQueryDto>, List<OrderQueryDto>> {
+
+    private static final OrderQueryDtoCollector INSTANCE = new OrderQueryDtoCollector();
+
+    public static OrderQueryDtoCollector toOrderQueryDtos() {
+        return INSTANCE;
+    }
+
+    private OrderQueryDtoCollector() {
+    }
+
+    @Override
+    public Supplier<List<OrderQueryDto>> supplier() {
+        return ArrayList::new;
+    }
+
+    @Override
+    public BiConsumer<List<OrderQueryDto>, OrderFlatDto> accumulator() {
+        return (result, o) -> {
+            OrderQueryDto last = result.isEmpty() ? null : result.get(result.size() - 1);
+            if (last == null || !last.getOrderId().equals(o.getOrderId())) {
+                last = new OrderQueryDto(o.getOrderId(), o.getName(), o.getOrderDate(),
+                        o.getOrderStatus(), o.getAddress(), new ArrayList<>());
+                result.add(last);
+            }
+            last.getOrderItems().add(new OrderItemQueryDto(o.getOrderId(),
+                    o.getItemName(), o.getOrderPrice(), o.getCount()));
+        };
+    }
+
+    /**
+     * 병렬 스트림에서 경계에 걸친 주문은 하나로 합친다
+     */
+    @Override
+    public BinaryOperator<List<OrderQueryDto>> combiner() {
+        return (left, right) -> {
+            if (left.isEmpty()) {
+                return right;
+            }
+            int from = 0;
+            if (!right.isEmpty()) {
+                OrderQueryDto last = left.get(left.size() - 1);
+                OrderQueryDto first = right.get(0);
+                if (last.getOrderId().equals(first.getOrderId())) {
+                    last.getOrderItems().addAll(first.getOrderItems());
+                    from = 1;
+                }
+            }
+            left.addAll(right.subList(from, right.size()));
+            return left;
+        };
+    }
+
+    @Override
+    public Function<List<OrderQueryDto>, List<OrderQueryDto>> finisher() {
+        return Function.identity();
+    }
+
+    @Override
+    public Set<Characteristics> characteristics() {
+        return Collections.unmodifiableSet(EnumSet.of(Characteristics.IDENTITY_FINISH));
+    }
+}
@@ -1,10 +1,20 @@
 package jpabook.jpashop.repository.order.query;
 
+import jpabook.jpashop.cache.CacheConfig;
+import jpabook.jpashop.repository.BatchedInLoader;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.query.Query;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Repository
@@ -12,6 +22,7 @@ import java.util.stream.Collectors;
 public class OrderQueryRepository {
 
     private final EntityManager em;
+    private final BatchedInLoader batchedInLoader;
 
     /**
      * 컬렉션은 별도로 조회
@@ -54,6 +65,7 @@ public class OrderQueryRepository {
                 .getResultList();
     }
 
+    @Cacheable(cacheNames = CacheConfig.ORDER_QUERY_DTOS, sync = true) //주문 변경 시 OrderQueryCacheEvictor 가 비운다
     public List<OrderQueryDto> findAllByDto_optimization() {
         //루트 조회(toOne 코드를 모두 한번에 조회)
         List<OrderQueryDto> result = findOrders();
@@ -64,6 +76,35 @@ public class OrderQueryRepository {
         return result;
     }
 
+    /**
+     * 키셋(seek) 페이징: afterId 다음 주문부터 limit 건 (order by o.id)
+     * offset 대신 PK 인덱스로 바로 찾아가므로 몇 번째 페이지든 조회 비용이 일정하다
+     * DTO 로 바로 조회하므로 지연 로딩이 없다 (open-in-view 와 상관없음)
+     * Query: 루트 1번, 컬렉션 1번(in)
+     */
+    @Transactional(readOnly = true)
+    public List<OrderQueryDto> findOrderQueryDtosAfter(Long afterId, int limit) {
+        String jpql = "select new jpabook.jpashop.repository.order.query.OrderQueryDto(o.id, m.name, o.orderDate, o.status, d.address)" +
+                " from Order o" +
+                " join o.member m" +
+                " join o.delivery d";
+        if (afterId != null) {
+            jpql += " where o.id > :afterId";
+        }
+        jpql += " order by o.id";
+
+        TypedQuery<OrderQueryDto> query = em.createQuery(jpql, OrderQueryDto.class)
+                .setMaxResults(limit);
+        if (afterId != null) {
+            query.setParameter("afterId", afterId);
+        }
+        List<OrderQueryDto> result = query.getResultList();
+
+        Map<Long, List<OrderItemQueryDto>> orderItemMap = findOrderItemMap(toOrderIds(result));
+        result.forEach(o -> o.setOrderItems(orderItemMap.getOrDefault(o.getOrderId(), new ArrayList<>())));
+        return result;
+    }
+
     private List<Long> toOrderIds(List<OrderQueryDto> result) {
         return result.stream()
                 .map(o -> o.getOrderId())
@@ -71,17 +112,50 @@ public class OrderQueryRepository {
     }
 
     private Map<Long, List<OrderItemQueryDto>> findOrderItemMap(List<Long> orderIds) {
-        List<OrderItemQueryDto> orderItems = em.createQuery(
+        //in 절을 2의 거듭제곱 크기 조각으로 나눠서 조회 후 합친다
+        List<OrderItemQueryDto> orderItems = batchedInLoader.load(em, orderIds, (chunkEm, chunk) ->
+                chunkEm.createQuery(
                         "select new jpabook.jpashop.repository.order.query.OrderItemQueryDto(oi.order.id, i.name, oi.orderPrice, oi.count)" +
                                 " from OrderItem oi" +
                                 " join oi.item i" +
                                 " where oi.order.id in :orderIds", OrderItemQueryDto.class)
-                .setParameter("orderIds", orderIds)
-                .getResultList();
+                .setParameter("orderIds", chunk)
+                .getResultList());
         return orderItems.stream()
                 .collect(Collectors.groupingBy(OrderItemQueryDto::getOrderId)); // map으로 바꾸기
     }
 
+    /**
+     * 대용량 export 용 flat 조회
+     * getResultList()로 전부 메모리에 올리지 않고 ScrollableResults 로 한 건씩 흘려보낸다
+     * fetchSize 단위로 영속성 컨텍스트를 비워서 메모리 사용량을 일정하게 유지한다
+     */
+    public void streamAllByDto_flat(int fetchSize, Consumer<OrderFlatDto> consumer) {
+        ScrollableResults scroll = em.createQuery(
+                        "select new jpabook.jpashop.repository.order.query.OrderFlatDto(o.id, m.name, o.orderDate, o.status, d.address, i.name, oi.orderPrice, oi.count)" +
+                                " from Order o" +
+                                " join o.member m" +
+                                " join o.delivery d" +
+                                " join o.orderItems oi" +
+                                " join oi.item i" +
+                                " order by o.id", OrderFlatDto.class)
+                .unwrap(Query.class)
+                .setFetchSize(fetchSize)
+                .setReadOnly(true)
+                .scroll(ScrollMode.FORWARD_ONLY);
+        try {
+            int count = 0;
+            while (scroll.next()) {
+                consumer.accept((OrderFlatDto) scroll.get(0));
+                if (++count % fetchSize == 0) {
+                    em.clear();
+                }
+            }
+        } finally {
+            scroll.close();
+        }
+    }
+
     public List<OrderFlatDto> findAllByDto_flat() {
         return em.createQuery(
                         "select new jpabook.jpashop.repository.order.query.OrderFlatDto(o.id, m.name, o.orderDate, o.status, d.address, i.name, oi.orderPrice, oi.count)" +
@@ -89,7 +163,8 @@ public class OrderQueryRepository {
                                 " join o.member m" +
                                 " join o.delivery d" +
                                 " join o.orderItems oi" +
-                                " join oi.item i", OrderFlatDto.class)
+                                " join oi.item i" +
+                                " order by o.id", OrderFlatDto.class) //OrderQueryDtoCollector 가 같은 주문끼리 붙어 있다고 가정
                 .getResultList();
     }
 }
\ No newline at end of file
@@ -1,6 +1,8 @@
 package jpabook.jpashop.repository.order.simplequery;
 
+import jpabook.jpashop.cache.CacheConfig;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Repository;
 import javax.persistence.EntityManager;
 import java.util.List;
@@ -10,12 +12,29 @@ import java.util.List;
 public class OrderSimpleQueryRepository {
 
     private final EntityManager em;
+
+    @Cacheable(cacheNames = CacheConfig.ORDER_SIMPLE_QUERY_DTOS, sync = true) //주문 변경 시 OrderQueryCacheEvictor 가 비운다
     public List<OrderSimpleQueryDto> findOrderDtos() {
         return em.createQuery(
-                        "select new jpabook.jpashop.repository.order.simplequery.OrderSimpleQueryDto(o.id, m.name, o.orderDate, o.status, d.address)" +
+                        "select new jpabook.jpashop.repository.order.simplequery.OrderSimpleQueryDto(o.id, m.name, o.orderDate, o.status, d.address, o.totalPrice)" +
                                 " from Order o" +
                                 " join o.member m" +
                                 " join o.delivery d", OrderSimpleQueryDto.class)
                 .getResultList();
     }
-}
\ No newline at end of file
+
+    /**
+     * 주문 가격 높은 순 (idx_orders_total_price 인덱스 순서대로 읽는다)
+     */
+    public List<OrderSimpleQueryDto> findOrderDtosOrderByTotalPrice(int offset, int limit) {
+        return em.createQuery(
+                        "select new jpabook.jpashop.repository.order.simplequery.OrderSimpleQueryDto(o.id, m.name, o.orderDate, o.status, d.address, o.totalPrice)" +
+                                " from Order o" +
+                                " join o.member m" +
+                                " join o.delivery d" +
+                                " order by o.totalPrice desc, o.id desc", OrderSimpleQueryDto.class)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
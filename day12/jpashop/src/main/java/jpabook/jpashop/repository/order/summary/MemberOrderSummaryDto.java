@@ -0,0 +1,22 @@
+package jpabook.jpashop.repository.order.summary;
+
+import lombok.Data;
+import java.time.LocalDateTime;
+
+@Data
+public class MemberOrderSummaryDto {
+
+    private Long memberId;
+    private String name;
+    private long orderCount; //주문 수 (취소 제외)
+    private long totalPrice; //sum(주문가격 * 수량)
+    private LocalDateTime lastOrderDate; //마지막 주문시간
+
+    public MemberOrderSummaryDto(Long memberId, String name, Long orderCount, Long totalPrice, LocalDateTime lastOrderDate) {
+        this.memberId = memberId;
+        this.name = name;
+        this.orderCount = orderCount;
+        this.totalPrice = totalPrice == null ? 0 : totalPrice;
+        this.lastOrderDate = lastOrderDate;
+    }
+}
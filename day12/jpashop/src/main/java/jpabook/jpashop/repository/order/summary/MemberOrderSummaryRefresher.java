@@ -0,0 +1,32 @@
+package jpabook.jpashop.repository.order.summary;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * member_order_summary 테이블을 주기적으로 다시 만든다
+ * jpashop.member-order-summary.refresh=true 일 때만 동작
+ */
+@Slf4j
+@Component
+@EnableScheduling
+@ConditionalOnProperty(name = "jpashop.member-order-summary.refresh", havingValue = "true")
+@RequiredArgsConstructor
+public class MemberOrderSummaryRefresher {
+
+    private final MemberOrderSummaryRepository memberOrderSummaryRepository;
+
+    @Transactional
+    @Scheduled(initialDelayString = "${jpashop.member-order-summary.interval-ms:300000}",
+            fixedDelayString = "${jpashop.member-order-summary.interval-ms:300000}")
+    public void refresh() {
+        long start = System.currentTimeMillis();
+        int members = memberOrderSummaryRepository.refreshSummaryTable();
+        log.info("member_order_summary refreshed: members={} ({}ms)", members, System.currentTimeMillis() - start);
+    }
+}
@@ -0,0 +1,84 @@
+package jpabook.jpashop.repository.order.summary;
+
+import jpabook.jpashop.domain.OrderStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+import javax.persistence.EntityManager;
+import java.util.List;
+
+/**
+ * 회원별 주문 수, 총 주문금액, 마지막 주문시간
+ * Member.orders, Order.orderItems 를 로딩하지 않고 집계 SQL 한번으로 구한다
+ */
+@Repository
+@RequiredArgsConstructor
+public class MemberOrderSummaryRepository {
+
+    private final EntityManager em;
+
+    /**
+     * 주문 테이블에서 바로 집계 (항상 최신)
+     */
+    public List<MemberOrderSummaryDto> findSummaries(int offset, int limit) {
+        return em.createQuery(
+                        "select new jpabook.jpashop.repository.order.summary.MemberOrderSummaryDto(" +
+                                "m.id, m.name, count(distinct o.id), sum(cast(oi.orderPrice as long) * oi.count), max(o.orderDate))" +
+                                " from Order o" +
+                                " join o.member m" +
+                                " join o.orderItems oi" +
+                                " where o.status = :status" +
+                                " group by m.id, m.name" +
+                                " order by m.id", MemberOrderSummaryDto.class)
+                .setParameter("status", OrderStatus.ORDER)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    public long countSummaries() {
+        return em.createQuery(
+                        "select count(distinct o.member.id) from Order o" +
+                                " where o.status = :status", Long.class)
+                .setParameter("status", OrderStatus.ORDER)
+                .getSingleResult();
+    }
+
+    /**
+     * 요약 테이블에서 조회 (마지막 refreshSummaryTable() 시점 기준)
+     */
+    public List<MemberOrderSummaryDto> findSummariesFromTable(int offset, int limit) {
+        return em.createQuery(
+                        "select new jpabook.jpashop.repository.order.summary.MemberOrderSummaryDto(" +
+                                "s.memberId, s.name, s.orderCount, s.totalPrice, s.lastOrderDate)" +
+                                " from MemberOrderSummary s" +
+                                " order by s.memberId", MemberOrderSummaryDto.class)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    public long countSummariesFromTable() {
+        return em.createQuery("select count(s) from MemberOrderSummary s", Long.class)
+                .getSingleResult();
+    }
+
+    /**
+     * 요약 테이블을 비우고 insert ... select 집계로 다시 채운다 (트랜잭션 안에서 호출)
+     * @return 요약된 회원 수
+     */
+    public int refreshSummaryTable() {
+        em.createNativeQuery("delete from member_order_summary").executeUpdate();
+        return em.createNativeQuery(
+                        "insert into member_order_summary" +
+                                " (member_id, name, order_count, total_price, last_order_date, refreshed_at)" +
+                                " select m.member_id, m.name, count(distinct o.order_id)," +
+                                " sum(cast(oi.order_price as bigint) * oi.count), max(o.order_date), current_timestamp" +
+                                " from orders o" +
+                                " join member m on m.member_id = o.member_id" +
+                                " join order_item oi on oi.order_id = o.order_id" +
+                                " where o.status = :status" +
+                                " group by m.member_id, m.name")
+                .setParameter("status", OrderStatus.ORDER.name())
+                .executeUpdate();
+    }
+}
@@ -0,0 +1,35 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.domain.Category;
+import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.repository.CategoryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.List;
+
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class CategoryService {
+
+    private final CategoryRepository categoryRepository;
+
+    @Transactional
+    public Long saveCategory(Category category) {
+        categoryRepository.save(category);
+        return category.getId();
+    }
+
+    /**
+     * 상품 일괄 연결
+     */
+    @Transactional
+    public int assignItems(Long categoryId, List<Long> itemIds) {
+        return categoryRepository.assignItems(categoryId, itemIds);
+    }
+
+    public List<Item> findItemsInSubtree(Long categoryId) {
+        return categoryRepository.findItemsInSubtree(categoryRepository.findOne(categoryId));
+    }
+}
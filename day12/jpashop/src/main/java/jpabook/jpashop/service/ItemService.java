@@ -4,6 +4,7 @@ import jpabook.jpashop.domain.item.Book;
 import jpabook.jpashop.domain.item.Item;
 import jpabook.jpashop.repository.ItemRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
@@ -14,10 +15,15 @@ import java.util.List;
 public class ItemService {
 
     private final ItemRepository itemRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public void saveItem(Item item) {
+        boolean update = item.getId() != null; //id 가 있으면 merge
         itemRepository.save(item);
+        if (update) {
+            eventPublisher.publishEvent(OrderChangedEvent.allOrders());
+        }
     }
 
     @Transactional  // merge는 모든 필드를 교체한다 -> null로 될 위험 있음 -> 변경 감지로 명확하게 해 주는 편이 좋다
@@ -27,6 +33,7 @@ public class ItemService {
         findItem.setName(name);
         findItem.setPrice(price);
         findItem.setStockQuantity(stockQuantity);
+        eventPublisher.publishEvent(OrderChangedEvent.allOrders()); //캐시된 주문 조회 결과에 상품 이름이 들어 있다
         return findItem;
     }
 
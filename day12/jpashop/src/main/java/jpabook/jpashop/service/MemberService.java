@@ -3,6 +3,7 @@ package jpabook.jpashop.service;
 import jpabook.jpashop.domain.Member;
 import jpabook.jpashop.repository.MemberRepositoryOld;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
@@ -13,6 +14,7 @@ import java.util.List;
 public class MemberService {
 
     private final MemberRepositoryOld memberRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * 회원가입
@@ -50,6 +52,7 @@ public class MemberService {
     public void update(Long id, String name) {
         Member member = memberRepository.findOne(id);
         member.setName(name);
+        eventPublisher.publishEvent(OrderChangedEvent.allOrders()); //캐시된 주문 조회 결과에 회원 이름이 들어 있다
     }
 
 }
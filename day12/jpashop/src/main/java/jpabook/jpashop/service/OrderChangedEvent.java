@@ -0,0 +1,23 @@
+package jpabook.jpashop.service;
+
+import lombok.Getter;
+
+/**
+ * 주문 생성/취소 이벤트 (커밋 후 주문 조회 DTO 캐시 무효화에 사용)
+ * 회원 이름, 상품 정보처럼 주문 조회 결과에 들어가는 값이 바뀌거나 여러 주문을 한번에 바꾼 경우 orderId 는 null
+ */
+@Getter
+public class OrderChangedEvent {
+
+    private final Long orderId;
+
+    public OrderChangedEvent(Long orderId) {
+        this.orderId = orderId;
+    }
+
+    /** 특정 주문이 아닌 여러 주문의 조회 결과가 바뀐 경우 */
+    public static OrderChangedEvent allOrders() {
+        return new OrderChangedEvent(null);
+    }
+
+}
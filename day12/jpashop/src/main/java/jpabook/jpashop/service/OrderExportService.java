@@ -0,0 +1,114 @@
+package jpabook.jpashop.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.repository.order.query.OrderFlatDto;
+import jpabook.jpashop.repository.order.query.OrderQueryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 주문 대용량 export
+ * 결과를 List 로 모으지 않고 조회하는 즉시 출력 스트림으로 내보낸다
+ * -> 1만 건이든 1000만 건이든 힙 사용량이 일정하다
+ */
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class OrderExportService {
+
+    public static final int FETCH_SIZE = 1000;
+
+    private final OrderQueryRepository orderQueryRepository;
+    private final ObjectMapper objectMapper;
+
+    public void exportCsv(OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write("orderId,name,orderDate,orderStatus,city,street,zipcode,itemName,orderPrice,count\n");
+
+        int[] count = {0};
+        try {
+            orderQueryRepository.streamAllByDto_flat(FETCH_SIZE, o -> {
+                try {
+                    writeCsvLine(writer, o);
+                    if (++count[0] % FETCH_SIZE == 0) {
+                        writer.flush(); //chunk 단위로 클라이언트에 내보낸다
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    public void exportJson(OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.writeStartArray();
+        //기본 설정(FLUSH_AFTER_WRITE_VALUE)이면 건마다 flush 하므로 끄고 chunk 단위로만 flush
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        int[] count = {0};
+        try {
+            orderQueryRepository.streamAllByDto_flat(FETCH_SIZE, o -> {
+                try {
+                    writer.writeValue(generator, o);
+                    if (++count[0] % FETCH_SIZE == 0) {
+                        generator.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        generator.writeEndArray();
+        generator.flush();
+    }
+
+    private void writeCsvLine(Writer writer, OrderFlatDto o) throws IOException {
+        Address address = o.getAddress();
+        writer.write(String.valueOf(o.getOrderId()));
+        writer.write(',');
+        writer.write(csv(o.getName()));
+        writer.write(',');
+        writer.write(String.valueOf(o.getOrderDate()));
+        writer.write(',');
+        writer.write(String.valueOf(o.getOrderStatus()));
+        writer.write(',');
+        writer.write(csv(address == null ? null : address.getCity()));
+        writer.write(',');
+        writer.write(csv(address == null ? null : address.getStreet()));
+        writer.write(',');
+        writer.write(csv(address == null ? null : address.getZipcode()));
+        writer.write(',');
+        writer.write(csv(o.getItemName()));
+        writer.write(',');
+        writer.write(String.valueOf(o.getOrderPrice()));
+        writer.write(',');
+        writer.write(String.valueOf(o.getCount()));
+        writer.write('\n');
+    }
+
+    //쉼표, 따옴표, 줄바꿈이 들어간 값은 따옴표로 감싼다
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+}
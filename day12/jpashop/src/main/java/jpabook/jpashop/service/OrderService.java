@@ -1,28 +1,44 @@
 package jpabook.jpashop.service;
 
+import jpabook.jpashop.aop.RetryOnOptimisticLock;
 import jpabook.jpashop.domain.*;
 import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.exception.NotEnoughStockException;
 import jpabook.jpashop.repository.ItemRepository;
+import jpabook.jpashop.repository.MemberNameIndex;
 import jpabook.jpashop.repository.MemberRepositoryOld;
 import jpabook.jpashop.repository.OrderRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional(readOnly = true)
 @RequiredArgsConstructor
 public class OrderService {
 
+    private static final int MAX_SEARCH_MEMBERS = 1000; //이름 색인 검색으로 찾을 최대 회원 수
+
     private final MemberRepositoryOld memberRepository;
     private final OrderRepository orderRepository;
     private final ItemRepository itemRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MemberNameIndex memberNameIndex;
 
     /** 주문 */
+    @RetryOnOptimisticLock
     @Transactional
     public Long order(Long memberId, Long itemId, int count) {
+        checkCount(count);
+
         //엔티티 조회
         Member member = memberRepository.findOne(memberId);
         Item item = itemRepository.findOne(itemId);
@@ -40,24 +56,123 @@ public class OrderService {
 
         //주문 저장
         orderRepository.save(order);    // CascadeType.All orderItem, delivery 도 같이 됨
+        eventPublisher.publishEvent(new OrderChangedEvent(order.getId()));
+
+        return order.getId();
+    }
+
+    /**
+     * 여러 상품 한번에 주문
+     * - 상품은 in 쿼리 한번으로 조회
+     * - 재고 차감 update, orderItem insert 는 flush 시점에 JDBC batch 로 나간다
+     *   (hibernate.jdbc.batch_size, order_inserts, order_updates)
+     */
+    @RetryOnOptimisticLock
+    @Transactional
+    public Long order(Long memberId, List<OrderLine> orderLines) {
+        if (orderLines.isEmpty()) {
+            throw new IllegalArgumentException("주문 상품이 없습니다.");
+        }
+
+        //같은 상품은 수량을 합친다
+        Map<Long, Integer> counts = new LinkedHashMap<>();
+        for (OrderLine orderLine : orderLines) {
+            checkCount(orderLine.getCount()); //음수 수량이 합쳐지면 재고가 늘어난다
+            counts.merge(orderLine.getItemId(), orderLine.getCount(), Integer::sum);
+        }
+
+        //엔티티 조회
+        Member member = memberRepository.findOne(memberId);
+        Map<Long, Item> items = itemRepository.findAllById(counts.keySet()).stream()
+                .collect(Collectors.toMap(Item::getId, item -> item));
+
+        //배송정보 생성
+        Delivery delivery = new Delivery();
+        delivery.setAddress(member.getAddress());
+        delivery.setStatus(DeliveryStatus.READY);
+
+        //주문상품 생성
+        List<OrderItem> orderItems = new ArrayList<>();
+        for (Map.Entry<Long, Integer> entry : counts.entrySet()) {
+            Item item = items.get(entry.getKey());
+            if (item == null) {
+                throw new IllegalArgumentException("존재하지 않는 상품입니다. itemId=" + entry.getKey());
+            }
+            orderItems.add(OrderItem.createOrderItem(item, item.getPrice(), entry.getValue()));
+        }
+
+        //주문 생성
+        Order order = Order.createOrder(member, delivery, orderItems.toArray(new OrderItem[0]));
+
+        //주문 저장
+        orderRepository.save(order);
+        eventPublisher.publishEvent(new OrderChangedEvent(order.getId()));
+
+        return order.getId();
+    }
+
+    /**
+     * 주문 - 재고를 조건부 update 한번으로 차감
+     * 같은 상품에 주문이 몰려도 갱신 분실(lost update) 없이 재고 이상으로 팔리지 않는다
+     */
+    @RetryOnOptimisticLock
+    @Transactional
+    public Long orderAtomic(Long memberId, Long itemId, int count) {
+        checkCount(count); //음수면 조건부 update 가 항상 매칭되어 재고가 늘어난다
+
+        //재고 차감 (update ... where stockQuantity >= count)
+        if (itemRepository.removeStock(itemId, count) == 0) {
+            throw new NotEnoughStockException("need more stock");
+        }
+
+        //엔티티 조회
+        Member member = memberRepository.findOne(memberId);
+        Item item = itemRepository.findOne(itemId);
+
+        //배송정보 생성
+        Delivery delivery = new Delivery();
+        delivery.setAddress(member.getAddress());
+        delivery.setStatus(DeliveryStatus.READY);
+
+        //주문상품 생성(재고는 이미 차감됨)
+        OrderItem orderItem = OrderItem.createReservedOrderItem(item, item.getPrice(), count);
+
+        //주문 생성
+        Order order = Order.createOrder(member, delivery, orderItem);
+
+        //주문 저장
+        orderRepository.save(order);
+        eventPublisher.publishEvent(new OrderChangedEvent(order.getId()));
 
         return order.getId();
     }
 
     /** 주문 취소 */
+    @RetryOnOptimisticLock
     @Transactional
     public void cancelOrder(Long orderId) {
         //주문 엔티티 조회
         Order order = orderRepository.findOne(orderId);
         //주문 취소
         order.cancel();
+        eventPublisher.publishEvent(new OrderChangedEvent(orderId));
     }
 
     /** 주문 검색 */
 
      public List<Order> findOrders(OrderSearch orderSearch) {
-        return orderRepository.findAllByString(orderSearch);
+        if (orderSearch.getMemberNameSearchMode() == MemberNameSearchMode.INDEXED
+                && StringUtils.hasText(orderSearch.getMemberName())) {
+            //이름 색인으로 회원 id 를 먼저 찾고, 그 회원들의 주문만 조회
+            List<Long> memberIds = memberNameIndex.findMemberIds(orderSearch.getMemberName(), MAX_SEARCH_MEMBERS);
+            return orderRepository.findAllByMemberIds(memberIds, orderSearch.getOrderStatus());
+        }
+        return orderRepository.findAllByNamedQuery(orderSearch);
      }
 
-
-}
\ No newline at end of file
+    private static void checkCount(int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("주문 수량은 1 이상이어야 합니다. count=" + count);
+        }
+    }
+}
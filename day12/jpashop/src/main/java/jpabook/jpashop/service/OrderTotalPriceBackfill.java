@@ -0,0 +1,94 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.domain.Order;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.query.NativeQuery;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import javax.persistence.EntityManager;
+
+/**
+ * orders.total_price 를 order_item 으로 다시 계산해서 채운다
+ * (total_price 컬럼 추가 전에 만들어진 주문, 값이 어긋난 주문 복구용)
+ * - order_id 범위를 chunkSize 씩 잘라서 범위마다 update 한번, 트랜잭션 하나
+ * - jpashop.order-total-backfill.on-startup=true 이면 기동 직후 실행
+ * - 갱신한 chunk 가 있으면 커밋 후 주문 조회 DTO 캐시를 비운다 (OrderChangedEvent)
+ */
+@Slf4j
+@Component
+public class OrderTotalPriceBackfill {
+
+    private final EntityManager em;
+    private final TransactionTemplate tx;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+    private final boolean onStartup;
+
+    public OrderTotalPriceBackfill(EntityManager em, PlatformTransactionManager transactionManager,
+                                   ApplicationEventPublisher eventPublisher,
+                                   @Value("${jpashop.order-total-backfill.chunk-size:10000}") int chunkSize,
+                                   @Value("${jpashop.order-total-backfill.on-startup:false}") boolean onStartup) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize는 1 이상이어야 합니다.");
+        }
+        this.em = em;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+        this.onStartup = onStartup;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (onStartup) {
+            backfill();
+        }
+    }
+
+    /**
+     * @return 갱신한 주문 수
+     */
+    public long backfill() {
+        Object[] range = tx.execute(status -> em.createQuery(
+                        "select min(o.id), max(o.id) from Order o", Object[].class)
+                .getSingleResult());
+        if (range == null || range[0] == null) {
+            return 0;
+        }
+        long minId = (Long) range[0];
+        long maxId = (Long) range[1];
+
+        long start = System.currentTimeMillis();
+        long updated = 0;
+        for (long from = minId; from <= maxId; from += chunkSize) {
+            long rangeFrom = from;
+            long rangeTo = Math.min(from + chunkSize - 1, maxId);
+            updated += tx.execute(status -> {
+                int count = updateRange(rangeFrom, rangeTo);
+                if (count > 0) {
+                    eventPublisher.publishEvent(OrderChangedEvent.allOrders());
+                }
+                return count;
+            });
+        }
+        log.info("orders.total_price backfill: {} orders ({}ms)", updated, System.currentTimeMillis() - start);
+        return updated;
+    }
+
+    private int updateRange(long from, long to) {
+        return em.createNativeQuery(
+                        "update orders set total_price = coalesce(" +
+                                " (select sum(oi.order_price * oi.count) from order_item oi where oi.order_id = orders.order_id), 0)" +
+                                " where order_id between :from and :to")
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(Order.class) //Order 외의 2차 캐시(item)는 비우지 않도록
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .executeUpdate();
+    }
+}
@@ -0,0 +1,36 @@
+-- 조회 인덱스 (엔티티 @Table(indexes) 와 같은 내용)
+-- ddl-auto: create 를 쓰지 않는 기존 DB (baseline 스키마) 에 적용할 때 사용 (H2 문법)
+-- Flyway 가 없으면 직접 실행: java -cp h2.jar org.h2.tools.RunScript -url <jdbc url> -script V1__add_query_indexes.sql
+-- 여러번 실행해도 된다 (if not exists, total_price 는 다시 계산, path 는 비어 있는 것만 채움)
+
+-- 인덱스가 참조하는 컬럼 중 baseline 에 없는 것부터 추가한다
+-- orders.total_price: 주문상품 가격 * 수량의 합 (Order.totalPrice)
+alter table orders add column if not exists total_price integer default 0 not null;
+update orders o set total_price = coalesce(
+        (select sum(oi.order_price * oi.count) from order_item oi where oi.order_id = o.order_id), 0);
+
+-- category.path: 루트부터 자신까지의 키를 이어 붙인 경로 (Category.path), 기존 row 는 'c' || id 를 키로 쓴다
+alter table category add column if not exists path varchar(1000);
+merge into category (category_id, path) key (category_id)
+with recursive tree(category_id, path) as (
+        select category_id, coalesce(path, '/c' || category_id || '/') from category where parent_id is null
+        union all
+        select c.category_id, coalesce(c.path, tree.path || 'c' || c.category_id || '/') from category c join tree on c.parent_id = tree.category_id)
+select tree.category_id, tree.path from tree join category c on c.category_id = tree.category_id where c.path is null;
+alter table category alter column path set not null;
+
+-- 주문 검색: status 조건 + 최근 주문 순 정렬
+create index if not exists idx_orders_status_order_date on orders (status, order_date);
+-- 회원 이름으로 찾은 회원 -> 주문 조인
+create index if not exists idx_orders_member_status on orders (member_id, status);
+-- 주문 가격 순 정렬 (orders.total_price)
+create index if not exists idx_orders_total_price on orders (total_price);
+
+-- 회원 이름 검색 (name = ?, name like 'prefix%')
+create index if not exists idx_member_name on member (name);
+
+-- 주문 -> 주문상품 (order_id 로 찾고 item_id 까지 인덱스에서 읽는다)
+create index if not exists idx_order_item_order_item on order_item (order_id, item_id);
+
+-- 카테고리 하위 트리 (category.path like '경로%')
+create index if not exists idx_category_path on category (path);
@@ -0,0 +1,69 @@
+package jpabook.jpashop.api;
+
+import jpabook.jpashop.monitor.QueryCount;
+import jpabook.jpashop.monitor.QueryCountHeaderAdvice;
+import jpabook.jpashop.monitor.QueryCounter;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * API 별 SQL 실행 수 검증 (InitDb 주문 2건 기준)
+ * 테스트 설정에는 default_batch_fetch_size 가 없으므로 지연 로딩은 건마다 쿼리가 나간다
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = "jpashop.query-count.header=true")
+@AutoConfigureMockMvc
+public class OrderApiQueryCountTest {
+
+    @Autowired MockMvc mockMvc;
+
+    @Test
+    public void V3_페치조인은_쿼리_한번() throws Exception {
+        QueryCount count = QueryCounter.count(() ->
+                mockMvc.perform(get("/api/v3/orders"))
+                        .andExpect(status().isOk())
+                        .andExpect(header().exists(QueryCountHeaderAdvice.STATEMENTS)));
+
+        assertTrue("fetch join 이므로 쿼리 수가 적어야 한다. " + count, count.getStatements() <= 3);
+        assertTrue("N+1 이 없어야 한다. " + count, count.suspectedNPlusOne(3).isEmpty());
+    }
+
+    @Test
+    public void V2_simple_orders_는_N플러스1_감지() throws Exception {
+        //회원, 배송을 주문마다 지연 로딩 -> 1 + N + N
+        QueryCount count = QueryCounter.count(() ->
+                mockMvc.perform(get("/api/v2/simple-orders")).andExpect(status().isOk()));
+
+        assertTrue(count.toString(), count.getStatements() == 5);
+        assertFalse("같은 모양 SQL 반복을 N+1 로 감지해야 한다.", count.suspectedNPlusOne(2).isEmpty());
+    }
+
+    @Test
+    public void V7_키셋_페이징은_DTO_조회로_쿼리_두번() throws Exception {
+        //주문 루트 1 + orderItems in 1, 지연 로딩 없음 (open-in-view=false 에서도 동작)
+        QueryCount count = QueryCounter.count(() ->
+                mockMvc.perform(get("/api/v7/orders").param("limit", "1"))
+                        .andExpect(status().isOk()));
+
+        assertTrue(count.toString(), count.getStatements() == 2);
+    }
+
+    @Test
+    public void V7_잘못된_요청은_400() throws Exception {
+        mockMvc.perform(get("/api/v7/orders").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v7/orders").param("after", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+}
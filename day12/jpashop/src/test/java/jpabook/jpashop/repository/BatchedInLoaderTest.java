@@ -0,0 +1,38 @@
+package jpabook.jpashop.repository;
+
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class BatchedInLoaderTest {
+
+    BatchedInLoader loader = new BatchedInLoader(null, 8, 1);
+
+    @Test
+    public void maxChunkSize_단위로_자른다() throws Exception {
+        //Given
+        List<Long> ids = new ArrayList<>();
+        for (long i = 1; i <= 19; i++) {
+            ids.add(i);
+        }
+
+        //When
+        List<List<Long>> chunks = loader.chunk(ids);
+
+        //Then
+        assertEquals(3, chunks.size());
+        assertEquals(8, chunks.get(0).size());
+        assertEquals(8, chunks.get(1).size());
+        assertEquals("패딩은 in_clause_parameter_padding 이 맡는다", 3, chunks.get(2).size());
+        assertEquals(Long.valueOf(19L), chunks.get(2).get(2));
+    }
+
+    @Test
+    public void 중복_id_제거() throws Exception {
+        List<List<Long>> chunks = loader.chunk(List.of(1L, 1L, 2L, 2L));
+        assertEquals(1, chunks.size());
+        assertEquals(2, chunks.get(0).size());
+    }
+}
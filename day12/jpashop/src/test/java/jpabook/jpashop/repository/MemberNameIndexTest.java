@@ -0,0 +1,62 @@
+package jpabook.jpashop.repository;
+
+import jpabook.jpashop.domain.Member;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+import javax.persistence.EntityManager;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@Transactional
+public class MemberNameIndexTest {
+
+    @Autowired MemberNameIndex memberNameIndex;
+    @Autowired EntityManager em;
+
+    @Test
+    public void 이름_부분검색() throws Exception {
+        //Given
+        Member kimchi = createMember("Kimchi Lover");
+        Member kimbap = createMember("kimbap");
+        createMember("park");
+        em.flush(); //insert 이벤트에서 색인이 같이 저장된다
+
+        //When, Then
+        assertEquals("대소문자 구분 없이 포함 검색", Arrays.asList(kimchi.getId(), kimbap.getId()),
+                memberNameIndex.findMemberIds("KIM", 10));
+        assertEquals("조각을 모두 가져도 실제로 포함해야 한다.", Collections.singletonList(kimchi.getId()),
+                memberNameIndex.findMemberIds("chi lo", 10));
+        assertEquals("3글자 미만은 앞부분 일치", Collections.singletonList(kimbap.getId()),
+                memberNameIndex.findMemberIds("ki", 10));
+    }
+
+    @Test
+    public void 이름변경시_색인갱신() throws Exception {
+        //Given
+        Member member = createMember("kimbap");
+        em.flush();
+
+        //When
+        member.setName("bibimbap");
+        em.flush();
+
+        //Then
+        assertEquals(Collections.emptyList(), memberNameIndex.findMemberIds("kimbap", 10));
+        assertEquals(Collections.singletonList(member.getId()), memberNameIndex.findMemberIds("bibim", 10));
+    }
+
+    private Member createMember(String name) {
+        Member member = new Member();
+        member.setName(name);
+        em.persist(member);
+        return member;
+    }
+}
@@ -0,0 +1,56 @@
+package jpabook.jpashop.repository.order.query;
+
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.OrderStatus;
+import org.junit.Test;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static jpabook.jpashop.repository.order.query.OrderQueryDtoCollector.toOrderQueryDtos;
+import static org.junit.Assert.assertEquals;
+
+public class OrderQueryDtoCollectorTest {
+
+    @Test
+    public void 연속된_주문끼리_묶기() throws Exception {
+        //Given
+        List<OrderFlatDto> flats = Arrays.asList(
+                flat(3L, "JPA1 BOOK"), flat(3L, "JPA2 BOOK"),
+                flat(1L, "SPRING1 BOOK"),
+                flat(2L, "SPRING2 BOOK"), flat(2L, "SPRING3 BOOK"), flat(2L, "SPRING4 BOOK"));
+
+        //When
+        List<OrderQueryDto> result = flats.stream().collect(toOrderQueryDtos());
+
+        //Then
+        assertEquals("주문 수만큼 묶여야 한다.", 3, result.size());
+        assertEquals("SQL 정렬 순서가 유지되어야 한다.", Long.valueOf(3L), result.get(0).getOrderId());
+        assertEquals(Long.valueOf(1L), result.get(1).getOrderId());
+        assertEquals(Long.valueOf(2L), result.get(2).getOrderId());
+        assertEquals(2, result.get(0).getOrderItems().size());
+        assertEquals(1, result.get(1).getOrderItems().size());
+        assertEquals(3, result.get(2).getOrderItems().size());
+    }
+
+    @Test
+    public void 병렬_스트림_경계_합치기() throws Exception {
+        //Given
+        OrderFlatDto[] flats = new OrderFlatDto[10000];
+        for (int i = 0; i < flats.length; i++) {
+            flats[i] = flat((long) (i / 4), "item" + i); //주문당 상품 4개
+        }
+
+        //When
+        List<OrderQueryDto> result = Arrays.stream(flats).parallel().collect(toOrderQueryDtos());
+
+        //Then
+        assertEquals(2500, result.size());
+        result.forEach(o -> assertEquals(4, o.getOrderItems().size()));
+    }
+
+    private OrderFlatDto flat(Long orderId, String itemName) {
+        return new OrderFlatDto(orderId, "userA", LocalDateTime.now(), OrderStatus.ORDER,
+                new Address("서울", "1", "1111"), itemName, 10000, 1);
+    }
+}
@@ -0,0 +1,72 @@
+package jpabook.jpashop.repository.order.summary;
+
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.service.OrderService;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+import javax.persistence.EntityManager;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@Transactional
+public class MemberOrderSummaryRepositoryTest {
+
+    @Autowired MemberOrderSummaryRepository memberOrderSummaryRepository;
+    @Autowired OrderService orderService;
+    @Autowired EntityManager em;
+
+    @Test
+    public void 회원별_주문요약() throws Exception {
+        //Given
+        Member member = createMember();
+        Long bookId = createBook(10000);
+        orderService.order(member.getId(), bookId, 2);
+        orderService.order(member.getId(), bookId, 1);
+        Long canceledId = orderService.order(member.getId(), bookId, 5);
+        orderService.cancelOrder(canceledId);
+        em.flush();
+
+        //When
+        MemberOrderSummaryDto live = find(memberOrderSummaryRepository.findSummaries(0, Integer.MAX_VALUE), member);
+        memberOrderSummaryRepository.refreshSummaryTable();
+        MemberOrderSummaryDto snapshot = find(memberOrderSummaryRepository.findSummariesFromTable(0, Integer.MAX_VALUE), member);
+
+        //Then
+        assertEquals("취소한 주문은 제외한다.", 2, live.getOrderCount());
+        assertEquals("총 주문금액은 가격 * 수량의 합이다.", 10000 * 3, live.getTotalPrice());
+        assertEquals("요약 테이블도 같은 값이어야 한다.", live, snapshot);
+    }
+
+    private MemberOrderSummaryDto find(List<MemberOrderSummaryDto> summaries, Member member) {
+        return summaries.stream()
+                .filter(s -> s.getMemberId().equals(member.getId()))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("요약에 회원이 없습니다."));
+    }
+
+    private Member createMember() {
+        Member member = new Member();
+        member.setName("회원1");
+        member.setAddress(new Address("서울", "강가", "123-123"));
+        em.persist(member);
+        return member;
+    }
+
+    private Long createBook(int price) {
+        Book book = new Book();
+        book.setName("시골 JPA");
+        book.setPrice(price);
+        book.setStockQuantity(100);
+        em.persist(book);
+        return book.getId();
+    }
+}
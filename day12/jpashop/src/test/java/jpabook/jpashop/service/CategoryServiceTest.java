@@ -0,0 +1,88 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.domain.Category;
+import jpabook.jpashop.domain.item.Book;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+import javax.persistence.EntityManager;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@Transactional
+@TestPropertySource(properties = { //in 조회가 여러 조각으로 나뉘어 병렬 경로를 타도록
+        "jpashop.in-query.parallelism=4",
+        "jpashop.in-query.max-chunk-size=2"})
+public class CategoryServiceTest {
+
+    @Autowired CategoryService categoryService;
+    @Autowired EntityManager em;
+
+    @Test
+    public void 상품_일괄연결() throws Exception {
+        //Given
+        Category parent = createCategory("도서", null);
+        Category child = createCategory("IT", parent);
+        Long book1 = createBook("시골 JPA");
+        Long book2 = createBook("토비 스프링");
+        Long book3 = createBook("자바 ORM");
+        categoryService.assignItems(child.getId(), Arrays.asList(book1));
+
+        //When
+        int assigned = categoryService.assignItems(child.getId(), Arrays.asList(book1, book2, book3, book3));
+
+        //Then
+        em.clear();
+        assertEquals("이미 연결된 상품과 중복 id 는 건너뛰어야 한다.", 2, assigned);
+        assertEquals(3, em.find(Category.class, child.getId()).getItems().size());
+        assertEquals("상위 카테고리로 하위 트리의 상품을 조회할 수 있어야 한다.",
+                3, categoryService.findItemsInSubtree(parent.getId()).size());
+    }
+
+    @Test
+    public void 같은_트랜잭션에서_연결한_상품은_병렬_설정이어도_중복_연결하지_않는다() throws Exception {
+        //Given
+        Category category = createCategory("도서", null);
+        Long book1 = createBook("시골 JPA");
+        Long book2 = createBook("토비 스프링");
+        Long book3 = createBook("자바 ORM");
+        Long book4 = createBook("이펙티브 자바");
+        categoryService.assignItems(category.getId(), Arrays.asList(book1, book2, book3));
+
+        //When
+        int assigned = categoryService.assignItems(category.getId(), Arrays.asList(book1, book2, book3, book4));
+
+        //Then
+        Number links = (Number) em.createNativeQuery("select count(*) from category_item where category_id = :id")
+                .setParameter("id", category.getId())
+                .getSingleResult();
+        assertEquals("커밋 전 연결도 중복 확인에 보여야 한다.", 1, assigned);
+        assertEquals(4, links.intValue());
+    }
+
+    private Category createCategory(String name, Category parent) {
+        Category category = new Category();
+        category.setName(name);
+        if (parent != null) {
+            parent.addChildCategory(category);
+        }
+        categoryService.saveCategory(category);
+        return category;
+    }
+
+    private Long createBook(String name) {
+        Book book = new Book();
+        book.setName(name);
+        book.setPrice(10000);
+        book.setStockQuantity(10);
+        em.persist(book);
+        return book.getId();
+    }
+}
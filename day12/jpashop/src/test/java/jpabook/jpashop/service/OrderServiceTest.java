@@ -2,7 +2,10 @@ package jpabook.jpashop.service;
 
 import jpabook.jpashop.domain.Address;
 import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.MemberNameSearchMode;
 import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.domain.OrderLine;
+import jpabook.jpashop.domain.OrderSearch;
 import jpabook.jpashop.domain.OrderStatus;
 import jpabook.jpashop.domain.item.Book;
 import jpabook.jpashop.domain.item.Item;
@@ -16,6 +19,10 @@ import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.transaction.annotation.Transactional;
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
 
@@ -29,6 +36,7 @@ public class OrderServiceTest {
 
     @Autowired OrderService orderService;
     @Autowired OrderRepository orderRepository;
+    @Autowired OrderTotalPriceBackfill orderTotalPriceBackfill;
     @Test
     public void 상품주문() throws Exception {
         //Given
@@ -47,6 +55,42 @@ public class OrderServiceTest {
         assertEquals("주문 수량만큼 재고가 줄어야 한다.",8, item.getStockQuantity());
     }
 
+    @Test
+    public void 여러상품_주문() throws Exception {
+        //Given
+        Member member = createMember();
+        Item item1 = createBook("시골 JPA", 10000, 10);
+        Item item2 = createBook("시골 SPRING", 20000, 10);
+
+        //When
+        Long orderId = orderService.order(member.getId(), Arrays.asList(
+                new OrderLine(item1.getId(), 2),
+                new OrderLine(item2.getId(), 3),
+                new OrderLine(item1.getId(), 1)));
+
+        //Then
+        Order getOrder = orderRepository.findOne(orderId);
+        assertEquals("같은 상품은 합쳐서 한 줄로 주문된다.", 2, getOrder.getOrderItems().size());
+        assertEquals("주문 가격은 가격 * 수량의 합이다.", 10000 * 3 + 20000 * 3, getOrder.getTotalPrice());
+        assertEquals(7, item1.getStockQuantity());
+        assertEquals(7, item2.getStockQuantity());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void 여러상품_주문_음수수량() throws Exception {
+        //Given
+        Member member = createMember();
+        Item item = createBook("시골 JPA", 10000, 10);
+
+        //When
+        orderService.order(member.getId(), Arrays.asList(
+                new OrderLine(item.getId(), 2),
+                new OrderLine(item.getId(), -5)));
+
+        //Then
+        fail("음수 수량은 예외가 발생해야 한다");
+    }
+
     @Test(expected = NotEnoughStockException.class)
     public void 상품주문_재고수량초과() throws Exception {
         //Given
@@ -82,15 +126,100 @@ public class OrderServiceTest {
         assertEquals("주문 취소된 상품은 그만큼 재고가 증가해야 한다.", 10, item.getStockQuantity());
     }
 
+    @Test
+    public void 주문검색_조건조합별_NamedQuery() {
+        //Given
+        Member member = createMember();
+        Item item = createBook("시골 JPA", 10000, 10);
+        Long canceledId = orderService.order(member.getId(), item.getId(), 1);
+        orderService.order(member.getId(), item.getId(), 1);
+        orderService.cancelOrder(canceledId);
+        em.flush();
+
+        for (OrderStatus status : new OrderStatus[]{null, OrderStatus.ORDER, OrderStatus.CANCEL}) {
+            for (String name : new String[]{null, "", "회원1", "없는회원"}) {
+                OrderSearch orderSearch = new OrderSearch();
+                orderSearch.setOrderStatus(status);
+                orderSearch.setMemberName(name);
+
+                //When
+                List<Order> named = orderRepository.findAllByNamedQuery(orderSearch);
+
+                //Then
+                assertEquals("status=" + status + ", name=" + name,
+                        orderRepository.findAllByString(orderSearch), named);
+            }
+        }
+    }
+
+    @Test
+    public void 주문검색_이름색인() {
+        //Given
+        Member member = createMember("Kim 영희");
+        Member other = createMember("Lee Lee");
+        Item item = createBook("시골 JPA", 10000, 10);
+        Long orderId = orderService.order(member.getId(), item.getId(), 1);
+        Long canceledId = orderService.order(member.getId(), item.getId(), 1);
+        orderService.order(other.getId(), item.getId(), 1);
+        orderService.cancelOrder(canceledId);
+        em.flush();
+
+        OrderSearch orderSearch = new OrderSearch();
+        orderSearch.setMemberNameSearchMode(MemberNameSearchMode.INDEXED);
+        orderSearch.setMemberName("KIM 영"); //부분 일치, 대소문자 구분 없음
+
+        //When
+        List<Order> all = orderService.findOrders(orderSearch);
+        orderSearch.setOrderStatus(OrderStatus.ORDER);
+        List<Order> ordered = orderService.findOrders(orderSearch);
+        orderSearch.setMemberName("LEE LEE LEE"); //"Lee Lee" 가 조각은 모두 갖지만 포함하지는 않는다
+        List<Order> none = orderService.findOrders(orderSearch);
+
+        //Then
+        assertEquals(Arrays.asList(orderId, canceledId), orderIds(all));
+        assertEquals(Arrays.asList(orderId), orderIds(ordered));
+        assertEquals(0, none.size());
+    }
+
+    @Test
+    public void 주문가격_백필() {
+        //Given
+        Member member = createMember();
+        Item item = createBook("시골 JPA", 10000, 10);
+        Long orderId = orderService.order(member.getId(), item.getId(), 3);
+        em.flush();
+        em.createNativeQuery("update orders set total_price = 0 where order_id = :id")
+                .setParameter("id", orderId)
+                .executeUpdate();
+        em.clear();
+
+        //When
+        orderTotalPriceBackfill.backfill();
+
+        //Then
+        em.clear();
+        Order getOrder = orderRepository.findOne(orderId);
+        assertEquals("주문 가격이 주문상품으로 다시 계산되어야 한다.", 10000 * 3, getOrder.getTotalPrice());
+        assertEquals(getOrder.calculateTotalPrice(), getOrder.getTotalPrice());
+    }
+
 
     private Member createMember() {
+        return createMember("회원1");
+    }
+
+    private Member createMember(String name) {
         Member member = new Member();
-        member.setName("회원1");
+        member.setName(name);
         member.setAddress(new Address("서울", "강가", "123-123"));
         em.persist(member);
         return member;
     }
 
+    private static List<Long> orderIds(List<Order> orders) {
+        return orders.stream().map(Order::getId).sorted().collect(Collectors.toList());
+    }
+
     private Book createBook(String name, int price, int stockQuantity) {
         Book book = new Book();
         book.setName(name);
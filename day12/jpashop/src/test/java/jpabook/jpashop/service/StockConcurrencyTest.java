@@ -0,0 +1,153 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.exception.NotEnoughStockException;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * 같은 상품에 동시 주문이 몰릴 때 재고 차감 비교
+ * - order(): 엔티티 조회 후 변경(read-modify-write) -> @Version 충돌 시 재시도, 재시도를 다 쓰면 실패
+ * - orderAtomic(): 조건부 update 한번 -> 초과 판매 없음
+ * 스레드마다 각자 트랜잭션을 커밋해야 하므로 @Transactional 을 붙이지 않는다
+ * 두 방식의 처리량(orders/s)은 로그로 남긴다
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class StockConcurrencyTest {
+
+    private static final Logger log = LoggerFactory.getLogger(StockConcurrencyTest.class);
+
+    static final int STOCK = 100;
+    static final int ORDERS = 300;
+    static final int THREADS = 16;
+
+    @Autowired OrderService orderService;
+    @Autowired MemberService memberService;
+    @Autowired ItemService itemService;
+
+    interface OrderCall {
+        Long order(Long memberId, Long itemId, int count);
+    }
+
+    @Test
+    public void 조건부_update_재고차감은_초과판매가_없다() throws Exception {
+        //Given
+        Long memberId = createMember();
+        Long itemId = createBook(STOCK);
+
+        //When
+        Result result = run(memberId, itemId, (m, i, c) -> orderService.orderAtomic(m, i, c));
+        log.info("[orderAtomic] {}", result);
+
+        //Then
+        assertEquals("재고만큼만 주문이 성공해야 한다.", STOCK, result.success.get());
+        assertEquals("나머지는 재고 부족이어야 한다.", ORDERS - STOCK, result.notEnoughStock.get());
+        assertEquals("남은 재고는 0 이어야 한다.", 0, itemService.findOne(itemId).getStockQuantity());
+    }
+
+    @Test
+    public void 엔티티_재고차감_비교() throws Exception {
+        //Given
+        Long memberId = createMember();
+        Long itemId = createBook(STOCK);
+
+        //When
+        Result result = run(memberId, itemId, (m, i, c) -> orderService.order(m, i, c));
+        log.info("[order] {}", result);
+
+        //Then 충돌/재시도 횟수는 실행 환경에 따라 다르지만 @Version 으로 초과 판매는 없어야 한다
+        int stock = itemService.findOne(itemId).getStockQuantity();
+        assertEquals("모든 주문은 성공, 재고 부족, 충돌 실패 중 하나 (" + result + ")", ORDERS,
+                result.success.get() + result.notEnoughStock.get() + result.failed.get());
+        assertTrue("남은 재고는 0 이상이어야 한다.", stock >= 0);
+        assertEquals("성공한 주문 수만큼만 재고가 줄어야 한다.", STOCK - result.success.get(), stock);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void 조건부_update_재고차감은_음수_수량을_거부한다() throws Exception {
+        //Given
+        Long memberId = createMember();
+        Long itemId = createBook(STOCK);
+
+        //When
+        orderService.orderAtomic(memberId, itemId, -1);
+
+        //Then
+        fail("음수 수량은 예외가 발생해야 한다");
+    }
+
+    private Result run(Long memberId, Long itemId, OrderCall call) throws Exception {
+        Result result = new Result();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    call.order(memberId, itemId, 1);
+                    result.success.incrementAndGet();
+                } catch (NotEnoughStockException e) {
+                    result.notEnoughStock.incrementAndGet();
+                } catch (RuntimeException e) {
+                    result.failed.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        long startNanos = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        result.elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        executor.shutdown();
+        return result;
+    }
+
+    static class Result {
+        AtomicInteger success = new AtomicInteger();
+        AtomicInteger notEnoughStock = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        long elapsedMillis;
+
+        @Override
+        public String toString() {
+            return "성공=" + success + ", 재고부족=" + notEnoughStock + ", 기타실패=" + failed
+                    + ", " + elapsedMillis + "ms (" + (ORDERS * 1000L / Math.max(1, elapsedMillis)) + " orders/s)";
+        }
+    }
+
+    private Long createMember() {
+        Member member = new Member();
+        member.setName("회원-" + UUID.randomUUID());
+        member.setAddress(new Address("서울", "강가", "123-123"));
+        return memberService.join(member);
+    }
+
+    private Long createBook(int stockQuantity) {
+        Book book = new Book();
+        book.setName("시골 JPA");
+        book.setPrice(10000);
+        book.setStockQuantity(stockQuantity);
+        itemService.saveItem(book);
+        return book.getId();
+    }
+}
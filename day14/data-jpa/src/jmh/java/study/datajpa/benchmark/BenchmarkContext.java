@@ -0,0 +1,62 @@
+package study.datajpa.benchmark;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.DataJpaApplication;
+import study.datajpa.entity.Member;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.IntFunction;
+
+/**
+ * 벤치마크용 스프링 컨텍스트 (매번 새 메모리 H2, SQL 로그 끔)
+ */
+public final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    public static ConfigurableApplicationContext start(String... properties) {
+        List<String> args = new ArrayList<>(Arrays.asList(
+                "--spring.datasource.url=jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--logging.level.root=warn",
+                "--logging.level.org.hibernate.SQL=off",
+                "--logging.level.org.hibernate.type=off",
+                "--decorator.datasource.p6spy.enable-logging=false"));
+        for (String property : properties) {
+            args.add("--" + property);
+        }
+        return new SpringApplicationBuilder(DataJpaApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(new String[0]));
+    }
+
+    /**
+     * 테스트 데이터 회원 count 명 저장 (1000 명마다 flush, clear)
+     */
+    public static void insertMembers(ConfigurableApplicationContext context, int count, IntFunction<Member> member) {
+        EntityManager em = context.getBean(EntityManager.class);
+        TransactionTemplate tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        for (int from = 0; from < count; from += 1000) {
+            int chunkFrom = from;
+            int chunkTo = Math.min(from + 1000, count);
+            tx.executeWithoutResult(status -> {
+                for (int i = chunkFrom; i < chunkTo; i++) {
+                    em.persist(member.apply(i));
+                }
+                em.flush();
+                em.clear();
+            });
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package study.datajpa.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import study.datajpa.entity.Item;
+import study.datajpa.repository.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 식별자를 직접 할당하는 Item 10만 건 저장
+ * 둘 다 isNew() 로 merge 없이 persist 하고 insert 를 batch 로 보낸다 -> 차이는 영속성 컨텍스트 크기와 batch 크기
+ * - saveAll: 10만 건이 모두 영속성 컨텍스트에 남은 채 커밋 때 flush, hibernate.jdbc.batch_size(100) 씩 전송
+ * - saveAllNew: datajpa.assigned-id.batch-size(1000) 씩 flush 후 detach, 같은 크기로 batch 전송
+ * 실행: ./gradlew jmh -PjmhIncludes=ItemSaveBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class ItemSaveBenchmark {
+
+    @Param({"100000"})
+    private int items;
+
+    private ConfigurableApplicationContext context;
+    private ItemRepository itemRepository;
+    private List<Item> batch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        itemRepository = context.getBean(ItemRepository.class);
+    }
+
+    @Setup(Level.Iteration)
+    public void newItems() {
+        context.getBean(JdbcTemplate.class).execute("delete from item");
+        batch = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            batch.add(new Item("item" + i));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object saveAll() {
+        return itemRepository.saveAll(batch);
+    }
+
+    @Benchmark
+    public Object saveAllNew() {
+        return itemRepository.saveAllNew(batch);
+    }
+}
@@ -0,0 +1,55 @@
+package study.datajpa.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import study.datajpa.entity.Member;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Member 100만 건 저장 - 등록/수정 정보(auditing) 방식별 비교
+ * - off: 채우지 않음
+ * - spring: AuditingHandler + 쓰기마다 AuditorAware(UUID)
+ * - fast: 엔티티 메서드 직접 호출 + 트랜잭션당 등록자 한번
+ * 1000 건마다 flush/clear, 트랜잭션 하나에 1000 건 (BenchmarkContext.insertMembers)
+ * 실행: ./gradlew jmh -PjmhIncludes=MemberAuditingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class MemberAuditingBenchmark {
+
+    @Param({"off", "spring", "fast"})
+    private String mode;
+
+    @Param({"1000000"})
+    private int members;
+
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(
+                "datajpa.auditing.mode=" + mode,
+                "spring.jpa.properties.hibernate.jdbc.batch_size=1000");
+    }
+
+    @Setup(Level.Iteration)
+    public void clear() {
+        context.getBean(JdbcTemplate.class).execute("delete from member");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void insertMembers() {
+        BenchmarkContext.insertMembers(context, members, i -> new Member("member" + i, i % 100));
+    }
+}
@@ -0,0 +1,79 @@
+package study.datajpa.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.ModePageRequest;
+import study.datajpa.repository.PagingMode;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MemberRepository.findByAge 페이징 방식 비교
+ * - page: 기존 Page (내용 + count 쿼리)
+ * - slice: size + 1 조회, count 없음
+ * - cachedCount: Page, count 는 CountCache (TTL 10초) 에서
+ * 실행: ./gradlew jmh -PjmhIncludes=MemberPagingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class MemberPagingBenchmark {
+
+    private static final int AGES = 10;
+
+    @Param({"100000", "1000000"})
+    private int members;
+
+    @Param({"20"})
+    private int size;
+
+    private ConfigurableApplicationContext context;
+    private MemberRepository memberRepository;
+    private TransactionTemplate tx;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        BenchmarkContext.insertMembers(context, members, i -> new Member("member" + i, i % AGES));
+        memberRepository = context.getBean(MemberRepository.class);
+        tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        tx.setReadOnly(true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private PageRequest randomPage() {
+        //앞쪽 100 페이지 중 하나 (깊은 offset 비용은 세 방식이 같으므로 제외)
+        return PageRequest.of(ThreadLocalRandom.current().nextInt(100), size, Sort.by("id"));
+    }
+
+    @Benchmark
+    public Object page() {
+        PageRequest pageRequest = randomPage();
+        return tx.execute(status -> memberRepository.findByAge(1, pageRequest));
+    }
+
+    @Benchmark
+    public Object slice() {
+        ModePageRequest pageRequest = ModePageRequest.of(randomPage(), PagingMode.SLICE);
+        return tx.execute(status -> memberRepository.findByAge(1, pageRequest));
+    }
+
+    @Benchmark
+    public Object cachedCount() {
+        ModePageRequest pageRequest = ModePageRequest.of(randomPage(), PagingMode.CACHED_COUNT);
+        return tx.execute(status -> memberRepository.findByAge(1, pageRequest));
+    }
+}
@@ -0,0 +1,67 @@
+package study.datajpa.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Member 100만 건 저장
+ * - saveAll: save() 반복, 모든 Member 가 커밋까지 영속성 컨텍스트에 남는다
+ * - saveAllBatched: batchSize 마다 flush + clear (jdbc.batch_size, order_inserts)
+ * 실행: ./gradlew jmh -PjmhIncludes=MemberSaveAllBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class MemberSaveAllBenchmark {
+
+    @Param({"1000000"})
+    private int members;
+
+    @Param({"1000"})
+    private int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private MemberRepository memberRepository;
+    private List<Member> batch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(
+                "spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize);
+        memberRepository = context.getBean(MemberRepository.class);
+    }
+
+    @Setup(Level.Iteration)
+    public void newMembers() {
+        context.getBean(JdbcTemplate.class).execute("delete from member");
+        batch = new ArrayList<>(members);
+        for (int i = 0; i < members; i++) {
+            batch.add(new Member("member" + i, i % 100));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object saveAll() {
+        return memberRepository.saveAll(batch);
+    }
+
+    @Benchmark
+    public Object saveAllBatched() {
+        return memberRepository.saveAllBatched(batch, batchSize);
+    }
+}
@@ -5,18 +5,21 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import study.datajpa.repository.BatchJpaRepositoryImpl;
 
 import java.util.Optional;
 import java.util.UUID;
 
 @EnableJpaAuditing
+@EnableJpaRepositories(repositoryBaseClass = BatchJpaRepositoryImpl.class)
 @SpringBootApplication
 public class DataJpaApplication {
 	public static void main(String[] args) {
 		SpringApplication.run(DataJpaApplication.class, args);
 	}
 
-	@Bean
+	@Bean	// datajpa.auditing.mode=spring 일 때 사용 (쓰기마다 호출), fast 는 TransactionAuditor
 	public AuditorAware<String> auditorProvider() {
 		return () -> Optional.of(UUID.randomUUID().toString());
 	}
@@ -3,12 +3,14 @@ package study.datajpa.controller;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RestController;
 import study.datajpa.dto.MemberDto;
 import study.datajpa.entity.Member;
 import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.ModePageRequest;
 
 @RestController
 @RequiredArgsConstructor
@@ -32,6 +34,12 @@ public class MemberController {
         return memberRepository.findAll(pageable).map(MemberDto::new);
     }
 
+    // /members/age/10?page=1&size=20&mode=slice (page, slice, cached_count)
+    @GetMapping("/members/age/{age}")
+    public Slice<MemberDto> listByAge(@PathVariable("age") int age, ModePageRequest pageable) {
+        return memberRepository.findByAge(age, pageable).map(MemberDto::new);
+    }
+
 //    @PostConstruct
 //    public void init(){
 //        for (int i = 0; i < 100; i++) {
@@ -0,0 +1,49 @@
+package study.datajpa.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.server.ResponseStatusException;
+import study.datajpa.repository.ModePageRequest;
+import study.datajpa.repository.PagingMode;
+
+import java.util.Locale;
+
+/**
+ * ModePageRequest 파라미터 = 기본 Pageable(page, size, sort) + mode (page, slice, cached_count)
+ * mode 가 없으면 기존과 같은 PAGE, 모르는 값이면 400
+ */
+@RequiredArgsConstructor
+public class ModePageRequestArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private final PageableHandlerMethodArgumentResolver pageableResolver;
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return ModePageRequest.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public ModePageRequest resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                           NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        return ModePageRequest.of(
+                pageableResolver.resolveArgument(parameter, mavContainer, webRequest, binderFactory),
+                pagingMode(webRequest.getParameter("mode")));
+    }
+
+    private static PagingMode pagingMode(String mode) {
+        if (mode == null) {
+            return PagingMode.PAGE;
+        }
+        try {
+            return PagingMode.valueOf(mode.toUpperCase(Locale.ROOT)); //기본 로케일(예: 터키어 i)에 영향받지 않도록
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "지원하지 않는 mode 입니다. mode=" + mode);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package study.datajpa.entity;
+
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.MappedSuperclass;
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.Transient;
+
+/**
+ * 식별자를 직접 할당하는 엔티티의 공통 부모
+ * id 가 있어도 새로 만든 객체는 isNew() = true -> save() 가 merge(select) 대신 persist 를 호출한다
+ * 저장(@PostPersist)하거나 조회(@PostLoad)되면 isNew() = false
+ */
+@MappedSuperclass
+public abstract class AssignedIdEntity<ID> implements Persistable<ID> {
+
+    @Transient
+    private boolean isNew = true;
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostPersist
+    @PostLoad
+    void markNotNew() {
+        this.isNew = false;
+    }
+}
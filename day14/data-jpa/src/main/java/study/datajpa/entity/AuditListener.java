@@ -0,0 +1,49 @@
+package study.datajpa.entity;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.auditing.AuditingHandler;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
+import java.time.LocalDateTime;
+
+/**
+ * BaseTimeEntity 엔티티 리스너 (하이버네이트가 스프링 빈으로 생성한다)
+ * - SPRING: AuditingEntityListener 와 같이 AuditingHandler 에 위임
+ * - FAST: markCreated / markModified 직접 호출, 등록자는 TransactionAuditor 에서
+ */
+@Component
+public class AuditListener {
+
+    private final AuditingMode mode;
+    private final ObjectProvider<AuditingHandler> auditingHandler;
+    private final TransactionAuditor transactionAuditor;
+
+    public AuditListener(@Value("${datajpa.auditing.mode:spring}") AuditingMode mode,
+                         ObjectProvider<AuditingHandler> auditingHandler,
+                         TransactionAuditor transactionAuditor) {
+        this.mode = mode;
+        this.auditingHandler = auditingHandler;
+        this.transactionAuditor = transactionAuditor;
+    }
+
+    @PrePersist
+    public void touchForCreate(Object target) {
+        if (mode == AuditingMode.FAST) {
+            ((BaseTimeEntity) target).markCreated(LocalDateTime.now(), transactionAuditor.currentAuditor());
+        } else if (mode == AuditingMode.SPRING) {
+            auditingHandler.getObject().markCreated(target);
+        }
+    }
+
+    @PreUpdate
+    public void touchForUpdate(Object target) {
+        if (mode == AuditingMode.FAST) {
+            ((BaseTimeEntity) target).markModified(LocalDateTime.now(), transactionAuditor.currentAuditor());
+        } else if (mode == AuditingMode.SPRING) {
+            auditingHandler.getObject().markModified(target);
+        }
+    }
+}
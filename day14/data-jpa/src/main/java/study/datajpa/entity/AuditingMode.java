@@ -0,0 +1,10 @@
+package study.datajpa.entity;
+
+/**
+ * BaseTimeEntity, BaseEntity 등록/수정 정보 채우는 방식 (datajpa.auditing.mode)
+ */
+public enum AuditingMode {
+    SPRING, //스프링 데이터 AuditingHandler (애노테이션 메타데이터 + 리플렉션, 쓰기마다 AuditorAware 호출)
+    FAST,   //엔티티 메서드로 직접 설정, 등록자는 트랜잭션당 한번만 조회
+    OFF     //채우지 않음
+}
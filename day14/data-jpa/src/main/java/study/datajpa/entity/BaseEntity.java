@@ -2,17 +2,12 @@ package study.datajpa.entity;
 
 import lombok.Getter;
 import org.springframework.data.annotation.CreatedBy;
-import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedBy;
-import org.springframework.data.annotation.LastModifiedDate;
-import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import javax.persistence.Column;
-import javax.persistence.EntityListeners;
 import javax.persistence.MappedSuperclass;
 import java.time.LocalDateTime;
 
-@EntityListeners(AuditingEntityListener.class)
 @MappedSuperclass
 @Getter
 public class BaseEntity extends BaseTimeEntity {
@@ -24,4 +19,16 @@ public class BaseEntity extends BaseTimeEntity {
     @LastModifiedBy
     private String lastModifiedBy;
 
-}
\ No newline at end of file
+    @Override
+    void markCreated(LocalDateTime now, String auditor) {
+        super.markCreated(now, auditor);
+        createdBy = auditor;
+        lastModifiedBy = auditor;
+    }
+
+    @Override
+    void markModified(LocalDateTime now, String auditor) {
+        super.markModified(now, auditor);
+        lastModifiedBy = auditor;
+    }
+}
@@ -5,7 +5,6 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
-import org.springframework.data.domain.Persistable;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import javax.persistence.Entity;
@@ -17,7 +16,7 @@ import java.time.LocalDateTime;
 @Getter
 @EntityListeners(AuditingEntityListener.class)
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
-public class Item implements Persistable<String> {
+public class Item extends AssignedIdEntity<String> {
 
     @Id
     private String id;
@@ -34,9 +33,4 @@ public class Item implements Persistable<String> {
         return id;
     }
 
-    @Override
-    public boolean isNew() {
-        return createdDate == null;
-    }
-
-}
\ No newline at end of file
+}
@@ -15,7 +15,9 @@ import javax.persistence.*;
 public class Member extends BaseEntity {
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "member_seq")
+    @SequenceGenerator(name = "member_seq", sequenceName = "member_seq",
+            allocationSize = 100)   // 시퀀스 한번에 id 100개 (pooled), jdbc.batch_size 와 맞춘다
     @Column(name = "member_id")
     private Long id;
     private String username;
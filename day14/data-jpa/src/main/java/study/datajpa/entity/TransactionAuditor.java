@@ -0,0 +1,37 @@
+package study.datajpa.entity;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+/**
+ * 등록자/수정자를 트랜잭션당 한번만 만든다 (같은 트랜잭션의 엔티티는 같은 값)
+ * 실제로는 로그인 사용자를 꺼내는 자리, 예제는 기존 auditorProvider 처럼 UUID
+ */
+@Component
+public class TransactionAuditor {
+
+    public String currentAuditor() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return resolveAuditor();
+        }
+        String auditor = (String) TransactionSynchronizationManager.getResource(this);
+        if (auditor == null) {
+            auditor = resolveAuditor();
+            TransactionSynchronizationManager.bindResource(this, auditor);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TransactionAuditor.this);
+                }
+            });
+        }
+        return auditor;
+    }
+
+    private String resolveAuditor() {
+        return UUID.randomUUID().toString();
+    }
+}
@@ -0,0 +1,20 @@
+package study.datajpa.repository;
+
+import study.datajpa.entity.AssignedIdEntity;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 식별자를 직접 할당하는 엔티티 리포지토리 조각
+ * 예) interface ItemRepository extends JpaRepository<Item, String>, AssignedIdRepository<Item, String>
+ */
+public interface AssignedIdRepository<T extends AssignedIdEntity<ID>, ID> {
+
+    /**
+     * 새 엔티티만 저장 (merge, 존재 여부 select 없이 persist + JDBC batch insert)
+     * 이미 있는 id 가 섞여 있으면 flush 시점에 제약조건 위반 예외가 난다
+     * @return 저장한 순서대로 id
+     */
+    List<ID> saveAllNew(Collection<? extends T> entities);
+}
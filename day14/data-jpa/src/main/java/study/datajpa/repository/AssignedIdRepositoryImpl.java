@@ -0,0 +1,56 @@
+package study.datajpa.repository;
+
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.entity.AssignedIdEntity;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public class AssignedIdRepositoryImpl<T extends AssignedIdEntity<ID>, ID> implements AssignedIdRepository<T, ID> {
+
+    private final EntityManager em;
+    private final int batchSize;
+
+    public AssignedIdRepositoryImpl(EntityManager em,
+                                    @Value("${datajpa.assigned-id.batch-size:1000}") int batchSize) {
+        this.em = em;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    @Transactional
+    public List<ID> saveAllNew(Collection<? extends T> entities) {
+        Session session = em.unwrap(Session.class);
+        Integer previousBatchSize = session.getJdbcBatchSize();
+        session.setJdbcBatchSize(batchSize); //이 세션에서만 insert 를 batchSize 개씩 묶어서 전송
+        try {
+            List<ID> ids = new ArrayList<>(entities.size());
+            List<T> chunk = new ArrayList<>(batchSize);
+            for (T entity : entities) {
+                em.persist(entity);
+                ids.add(entity.getId());
+                chunk.add(entity);
+                if (chunk.size() == batchSize) {
+                    flushAndDetach(chunk);
+                }
+            }
+            flushAndDetach(chunk);
+            return ids;
+        } finally {
+            session.setJdbcBatchSize(previousBatchSize);
+        }
+    }
+
+    /** 저장한 엔티티만 영속성 컨텍스트에서 뺀다 (호출한 쪽이 관리 중인 다른 엔티티는 그대로) */
+    private void flushAndDetach(List<T> chunk) {
+        em.flush();
+        for (T entity : chunk) {
+            em.detach(entity);
+        }
+        chunk.clear();
+    }
+}
@@ -0,0 +1,18 @@
+package study.datajpa.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.repository.NoRepositoryBean;
+
+/**
+ * 모든 리포지토리 공통 기능 (구현: BatchJpaRepositoryImpl, @EnableJpaRepositories(repositoryBaseClass))
+ */
+@NoRepositoryBean
+public interface BatchJpaRepository<T, ID> extends JpaRepository<T, ID> {
+
+    /**
+     * saveAll 과 같지만 batchSize 개마다 flush + clear 해서 영속성 컨텍스트가 커지지 않는다
+     * (hibernate.jdbc.batch_size, order_inserts 로 insert 를 묶어서 전송)
+     * clear 하므로 호출 전에 관리하던 엔티티도 준영속이 된다
+     */
+    BatchSaveResult saveAllBatched(Iterable<? extends T> entities, int batchSize);
+}
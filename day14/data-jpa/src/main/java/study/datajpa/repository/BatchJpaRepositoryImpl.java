@@ -0,0 +1,49 @@
+package study.datajpa.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+
+@Slf4j
+public class BatchJpaRepositoryImpl<T, ID> extends SimpleJpaRepository<T, ID> implements BatchJpaRepository<T, ID> {
+
+    private final JpaEntityInformation<T, ?> entityInformation;
+    private final EntityManager em;
+
+    public BatchJpaRepositoryImpl(JpaEntityInformation<T, ?> entityInformation, EntityManager em) {
+        super(entityInformation, em);
+        this.entityInformation = entityInformation;
+        this.em = em;
+    }
+
+    @Override
+    @Transactional
+    public BatchSaveResult saveAllBatched(Iterable<? extends T> entities, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize는 1 이상이어야 합니다.");
+        }
+        long start = System.currentTimeMillis();
+        long count = 0;
+        for (T entity : entities) {
+            if (entityInformation.isNew(entity)) {
+                em.persist(entity);
+            } else {
+                em.merge(entity);
+            }
+            if (++count % batchSize == 0) {
+                em.flush();
+                em.clear();
+            }
+        }
+        em.flush();
+        em.clear();
+
+        BatchSaveResult result = new BatchSaveResult(count, System.currentTimeMillis() - start);
+        log.info("saveAllBatched {}: {} rows, {}ms, {} rows/s", entityInformation.getEntityName(),
+                result.getCount(), result.getElapsedMillis(), result.getRowsPerSecond());
+        return result;
+    }
+}
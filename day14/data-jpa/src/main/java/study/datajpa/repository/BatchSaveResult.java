@@ -0,0 +1,19 @@
+package study.datajpa.repository;
+
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+public class BatchSaveResult {
+
+    private final long count;         //저장한 엔티티 수
+    private final long elapsedMillis;
+    private final long rowsPerSecond;
+
+    public BatchSaveResult(long count, long elapsedMillis) {
+        this.count = count;
+        this.elapsedMillis = elapsedMillis;
+        this.rowsPerSecond = count * 1000 / Math.max(1, elapsedMillis);
+    }
+}
@@ -0,0 +1,147 @@
+package study.datajpa.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.metamodel.EntityType;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 벌크 update 를 PK 범위로 잘라서 실행 (조각마다 트랜잭션 커밋)
+ * - update Member m set ... where 조건 -> ... where (조건) and m.id between :chunkFrom and :chunkTo
+ * - 한 문장으로 수백만 건을 잠그고 undo 를 쌓지 않도록 chunkSize 개 id 범위씩 나눈다
+ * - 끝나면 @Modifying(clearAutomatically = true) 처럼 현재 영속성 컨텍스트를 비운다
+ * - 조각마다 새 트랜잭션이므로 같은 row 를 잡고 있는 트랜잭션 안에서 호출하면 안 된다
+ * - JPQL 만 지원한다 (네이티브 SQL, 서브쿼리가 들어간 update 는 where 위치를 정확히 찾을 수 없어서 거부)
+ */
+@Slf4j
+@Component
+public class ChunkedBulkUpdater {
+
+    private static final Pattern UPDATE = Pattern.compile(
+            "^\\s*update\\s+(\\S+)\\s+(?:as\\s+)?(\\w+)\\s+(set\\s.*?)(?:\\swhere\\s(.*))?$",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern SUBQUERY = Pattern.compile("\\(\\s*select\\s", Pattern.CASE_INSENSITIVE);
+
+    private final EntityManager em;
+    private final TransactionTemplate chunkTx;
+    private final int defaultChunkSize;
+
+    public ChunkedBulkUpdater(EntityManager em, PlatformTransactionManager transactionManager,
+                              @Value("${datajpa.bulk.chunk-size:10000}") int defaultChunkSize) {
+        this.em = em;
+        this.chunkTx = new TransactionTemplate(transactionManager);
+        this.chunkTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.defaultChunkSize = defaultChunkSize;
+    }
+
+    /** 조각 하나가 커밋될 때마다 호출 */
+    public interface ProgressListener {
+        void onChunk(long lastId, long maxId, long updated);
+    }
+
+    /**
+     * 리포지토리의 @Modifying @Query update 메서드를 잘라서 실행
+     * 예) execute(MemberRepository.class, "bulkAgePlus", Map.of("age", 20))
+     */
+    public long execute(Class<?> repository, String methodName, Map<String, ?> params) {
+        Query found = null;
+        for (Method method : repository.getMethods()) {
+            if (method.getName().equals(methodName)
+                    && method.isAnnotationPresent(Modifying.class) && method.isAnnotationPresent(Query.class)) {
+                if (found != null) {
+                    throw new IllegalArgumentException(repository.getSimpleName() + "." + methodName
+                            + " 은 @Modifying @Query 메서드가 여러 개입니다.");
+                }
+                found = method.getAnnotation(Query.class);
+            }
+        }
+        if (found == null) {
+            throw new IllegalArgumentException(repository.getSimpleName() + "." + methodName
+                    + " 에 @Modifying @Query 가 없습니다.");
+        }
+        if (found.nativeQuery()) {
+            throw new IllegalArgumentException(repository.getSimpleName() + "." + methodName
+                    + " 은 네이티브 쿼리입니다. JPQL update 만 지원합니다.");
+        }
+        return execute(found.value(), params, defaultChunkSize, null);
+    }
+
+    /**
+     * @param jpql      update 엔티티 별칭 set ... [where ...]
+     * @param params    jpql 파라미터
+     * @param chunkSize 한 트랜잭션에서 처리할 id 범위 크기
+     * @param listener  진행 상황 (null 이면 로그만)
+     * @return 수정된 전체 row 수
+     */
+    public long execute(String jpql, Map<String, ?> params, int chunkSize, ProgressListener listener) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize는 1 이상이어야 합니다.");
+        }
+        if (SUBQUERY.matcher(jpql).find()) {
+            throw new IllegalArgumentException("서브쿼리가 들어간 update 는 지원하지 않습니다: " + jpql);
+        }
+        Matcher matcher = UPDATE.matcher(jpql);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("update 엔티티 별칭 set ... 형태의 JPQL 이 아닙니다: " + jpql);
+        }
+        String entityName = matcher.group(1);
+        String alias = matcher.group(2);
+        String id = alias + "." + idAttribute(entityName);
+        String chunkJpql = "update " + entityName + " " + alias + " " + matcher.group(3).trim()
+                + " where " + (matcher.group(4) == null ? "" : "(" + matcher.group(4).trim() + ") and ")
+                + id + " between :chunkFrom and :chunkTo";
+
+        Object[] range = chunkTx.execute(status -> em.createQuery(
+                        "select min(" + id + "), max(" + id + ") from " + entityName + " " + alias, Object[].class)
+                .getSingleResult());
+        long updated = 0;
+        if (range != null && range[0] != null) {
+            long minId = ((Number) range[0]).longValue();
+            long maxId = ((Number) range[1]).longValue();
+            long start = System.currentTimeMillis();
+            for (long from = minId; from <= maxId; from += chunkSize) {
+                long chunkFrom = from;
+                long chunkTo = Math.min(from + chunkSize - 1, maxId);
+                updated += chunkTx.execute(status -> {
+                    javax.persistence.Query query = em.createQuery(chunkJpql)
+                            .setParameter("chunkFrom", chunkFrom)
+                            .setParameter("chunkTo", chunkTo);
+                    params.forEach(query::setParameter);
+                    return query.executeUpdate();
+                });
+                if (listener != null) {
+                    listener.onChunk(chunkTo, maxId, updated);
+                }
+                log.debug("bulk update {}: id {}/{} updated={}", entityName, chunkTo, maxId, updated);
+            }
+            log.info("bulk update {}: {} rows ({}ms)", entityName, updated, System.currentTimeMillis() - start);
+        }
+
+        em.clear(); //호출한 쪽의 영속성 컨텍스트에 남은 엔티티는 DB 와 다르다
+        return updated;
+    }
+
+    private String idAttribute(String entityName) {
+        for (EntityType<?> entity : em.getMetamodel().getEntities()) {
+            if (entity.getName().equals(entityName) || entity.getJavaType().getName().equals(entityName)) {
+                Class<?> idType = entity.getIdType().getJavaType();
+                if (idType != Long.class && idType != long.class) {
+                    throw new IllegalArgumentException(entityName + " 의 id 가 Long 이 아닙니다: " + idType);
+                }
+                return entity.getId(idType).getName();
+            }
+        }
+        throw new IllegalArgumentException("엔티티가 아닙니다: " + entityName);
+    }
+}
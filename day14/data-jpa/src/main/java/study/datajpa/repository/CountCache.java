@@ -0,0 +1,64 @@
+package study.datajpa.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * 조건별 count 결과를 짧게 캐시 (PagingMode.CACHED_COUNT)
+ * 전체 수가 TTL 동안 조금 어긋날 수 있는 대신 페이지마다 count 쿼리를 하지 않는다
+ * 캐시에 없을 때마다 만료된 항목을 정리하고, 그래도 MAX_ENTRIES 를 넘으면 전부 비운다
+ */
+@Component
+public class CountCache {
+
+    static final int MAX_ENTRIES = 1000;
+
+    private final long ttlNanos;
+    private final Map<String, Entry> cache = new ConcurrentHashMap<>();
+
+    public CountCache(@Value("${datajpa.paging.count-cache-ttl:10s}") Duration ttl) {
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * @param key   쿼리 + 조건 값 (예: Member.age=10)
+     * @param count 캐시에 없거나 만료됐을 때 실행할 count 쿼리
+     */
+    public long get(String key, LongSupplier count) {
+        long now = System.nanoTime();
+        Entry entry = cache.get(key);
+        if (entry != null && now - entry.loadedAt < ttlNanos) {
+            return entry.count;
+        }
+        long value = count.getAsLong();
+        evictExpired(now);
+        cache.put(key, new Entry(value, now));
+        return value;
+    }
+
+    private void evictExpired(long now) {
+        cache.values().removeIf(e -> now - e.loadedAt >= ttlNanos);
+        if (cache.size() >= MAX_ENTRIES) {
+            cache.clear(); //조건 값 종류가 너무 많으면 TTL 안이어도 비운다
+        }
+    }
+
+    int size() {
+        return cache.size();
+    }
+
+    private static class Entry {
+        final long count;
+        final long loadedAt;
+
+        Entry(long count, long loadedAt) {
+            this.count = count;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
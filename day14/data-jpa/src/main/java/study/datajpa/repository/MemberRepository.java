@@ -14,7 +14,7 @@ import java.util.List;
 import java.util.Optional;
 
 public interface MemberRepository
-        extends JpaRepository<Member, Long>, MemberRepositoryCustom {
+        extends BatchJpaRepository<Member, Long>, MemberRepositoryCustom {
 
 
     List<Member> findByUsernameAndAgeGreaterThan(String username, int age);
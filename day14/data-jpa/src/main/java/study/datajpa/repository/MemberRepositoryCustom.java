@@ -1,5 +1,6 @@
 package study.datajpa.repository;
 
+import org.springframework.data.domain.Slice;
 import study.datajpa.entity.Member;
 
 import java.util.List;
@@ -8,4 +9,9 @@ public interface MemberRepositoryCustom {
 
     List<Member> findMemberCustom();
 
+    /**
+     * findByAge 를 pageable.getMode() 방식으로 조회 (PAGE, CACHED_COUNT -> Page, SLICE -> Slice)
+     */
+    Slice<Member> findByAge(int age, ModePageRequest pageable);
+
 }
\ No newline at end of file
@@ -1,6 +1,11 @@
 package study.datajpa.repository;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
 import study.datajpa.entity.Member;
 
 import javax.persistence.EntityManager;
@@ -11,6 +16,7 @@ public class MemberRepositoryImpl implements MemberRepositoryCustom {
     // 리포지토리 인터페이스 이름 + Impl
 
     private final EntityManager em;
+    private final CountCache countCache;
 
     @Override
     public List<Member> findMemberCustom() {
@@ -18,4 +24,36 @@ public class MemberRepositoryImpl implements MemberRepositoryCustom {
                 .getResultList();
     }
 
+    @Override
+    public Slice<Member> findByAge(int age, ModePageRequest pageable) {
+        switch (pageable.getMode()) {
+            case SLICE:
+                //size + 1 개를 조회해서 하나 더 있으면 다음 페이지가 있다
+                List<Member> probe = findByAge(age, pageable, pageable.getPageSize() + 1);
+                boolean hasNext = probe.size() > pageable.getPageSize();
+                return new SliceImpl<>(hasNext ? probe.subList(0, pageable.getPageSize()) : probe, pageable, hasNext);
+            case CACHED_COUNT:
+                //첫 페이지가 덜 찼거나 마지막 페이지면 count 자체를 하지 않는다
+                return PageableExecutionUtils.getPage(findByAge(age, pageable, pageable.getPageSize()), pageable,
+                        () -> countCache.get("Member.age=" + age, () -> countByAge(age)));
+            default:
+                return new PageImpl<>(findByAge(age, pageable, pageable.getPageSize()), pageable, countByAge(age));
+        }
+    }
+
+    private List<Member> findByAge(int age, ModePageRequest pageable, int limit) {
+        String jpql = QueryUtils.applySorting("select m from Member m where m.age = :age", pageable.getSort(), "m");
+        return em.createQuery(jpql, Member.class)
+                .setParameter("age", age)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private long countByAge(int age) {
+        return em.createQuery("select count(m) from Member m where m.age = :age", Long.class)
+                .setParameter("age", age)
+                .getSingleResult();
+    }
+
 }
\ No newline at end of file
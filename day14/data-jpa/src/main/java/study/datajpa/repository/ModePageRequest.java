@@ -0,0 +1,64 @@
+package study.datajpa.repository;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * 페이징 방식(PagingMode)을 같이 담은 Pageable
+ * 컨트롤러 파라미터로 받으면 ModePageRequestArgumentResolver 가 page, size, sort, mode 를 채운다
+ */
+public class ModePageRequest extends PageRequest {
+
+    private static final long serialVersionUID = 1L;
+
+    private final PagingMode mode;
+
+    protected ModePageRequest(int page, int size, Sort sort, PagingMode mode) {
+        super(page, size, sort);
+        this.mode = mode;
+    }
+
+    public static ModePageRequest of(Pageable pageable, PagingMode mode) {
+        return new ModePageRequest(pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort(), mode);
+    }
+
+    public PagingMode getMode() {
+        return mode;
+    }
+
+    @Override
+    public ModePageRequest next() {
+        return new ModePageRequest(getPageNumber() + 1, getPageSize(), getSort(), mode);
+    }
+
+    @Override
+    public ModePageRequest previous() {
+        return getPageNumber() == 0 ? this : new ModePageRequest(getPageNumber() - 1, getPageSize(), getSort(), mode);
+    }
+
+    @Override
+    public ModePageRequest first() {
+        return new ModePageRequest(0, getPageSize(), getSort(), mode);
+    }
+
+    @Override
+    public ModePageRequest withPage(int pageNumber) {
+        return new ModePageRequest(pageNumber, getPageSize(), getSort(), mode);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof ModePageRequest && super.equals(obj) && mode == ((ModePageRequest) obj).mode;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + mode.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return super.toString() + ", mode: " + mode;
+    }
+}
@@ -0,0 +1,10 @@
+package study.datajpa.repository;
+
+/**
+ * 페이징 방식 (요청 파라미터 mode)
+ */
+public enum PagingMode {
+    PAGE,         //내용 + count 쿼리 (기존 Page)
+    SLICE,        //size + 1 개를 조회해서 다음 페이지 여부만 (count 쿼리 X)
+    CACHED_COUNT  //Page, 전체 수는 조건별 count 캐시에서 (TTL 동안 count 쿼리 X)
+}
@@ -0,0 +1,39 @@
+package study.datajpa.entity;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "datajpa.auditing.mode=fast")
+@Transactional
+class AuditListenerTest {
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Test
+    public void fastAuditing() {
+        //given
+        Member member1 = new Member("auditMember1");
+        Member member2 = new Member("auditMember2");
+
+        //when
+        em.persist(member1);
+        em.persist(member2);
+        em.flush();
+        member1.setAge(20);
+        em.flush();
+
+        //then
+        assertThat(member1.getCreatedDate()).isNotNull();
+        assertThat(member1.getLastModifiedDate()).isAfterOrEqualTo(member1.getCreatedDate());
+        assertThat(member1.getCreatedBy()).isNotNull();
+        assertThat(member2.getCreatedBy()).isEqualTo(member1.getCreatedBy()); //트랜잭션당 한번
+        assertThat(member1.getLastModifiedBy()).isEqualTo(member1.getCreatedBy());
+    }
+}
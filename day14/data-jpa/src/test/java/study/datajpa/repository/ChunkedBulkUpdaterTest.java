@@ -0,0 +1,78 @@
+package study.datajpa.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import study.datajpa.entity.Member;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 조각마다 별도 트랜잭션으로 커밋하므로 @Transactional 을 붙이지 않는다
+ * 대신 커밋된 회원은 테스트마다 지워서 다른 테스트의 회원 수에 영향을 주지 않는다
+ */
+@SpringBootTest
+class ChunkedBulkUpdaterTest {
+
+    @Autowired ChunkedBulkUpdater chunkedBulkUpdater;
+    @Autowired MemberRepository memberRepository;
+
+    @AfterEach
+    public void deleteChunkMembers() {
+        memberRepository.deleteAllInBatch(memberRepository.findAll().stream()
+                .filter(m -> m.getUsername().startsWith("chunk"))
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    public void chunkedBulkAgePlus() {
+        //given
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            members.add(new Member("chunkMember" + i, 1000 + i));
+        }
+        memberRepository.saveAll(members);
+        List<Long> progress = new ArrayList<>();
+
+        //when
+        long updated = chunkedBulkUpdater.execute(
+                "update Member m set m.age = m.age + 1 where m.age >= :age and m.username like :prefix",
+                Map.of("age", 1020, "prefix", "chunkMember%"), 10,
+                (lastId, maxId, updatedSoFar) -> progress.add(updatedSoFar));
+
+        //then
+        assertThat(updated).isEqualTo(5);
+        assertThat(progress).isNotEmpty();
+        assertThat(progress.get(progress.size() - 1)).isEqualTo(5L);
+        assertThat(memberRepository.findByUsername("chunkMember24").get(0).getAge()).isEqualTo(1025);
+        assertThat(memberRepository.findByUsername("chunkMember19").get(0).getAge()).isEqualTo(1019);
+    }
+
+    @Test
+    public void repositoryModifyingQuery() {
+        //given
+        memberRepository.save(new Member("chunkRepoMember", 2000));
+
+        //when
+        long updated = chunkedBulkUpdater.execute(MemberRepository.class, "bulkAgePlus", Map.of("age", 2000));
+
+        //then
+        assertThat(updated).isEqualTo(1);
+        assertThat(memberRepository.findByUsername("chunkRepoMember").get(0).getAge()).isEqualTo(2001);
+    }
+
+    @Test
+    public void rejectsSubquery() {
+        assertThatThrownBy(() -> chunkedBulkUpdater.execute(
+                "update Member m set m.age = (select max(t.id) from Team t where t.id = m.team.id)",
+                Map.of(), 10, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
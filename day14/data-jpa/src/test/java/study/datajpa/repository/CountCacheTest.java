@@ -0,0 +1,39 @@
+package study.datajpa.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CountCacheTest {
+
+    @Test
+    public void expiredEntriesAreEvicted() {
+        //given
+        CountCache countCache = new CountCache(Duration.ZERO); //모든 항목이 바로 만료
+
+        //when
+        countCache.get("Member.age=10", () -> 1);
+        countCache.get("Member.age=20", () -> 2);
+        long count = countCache.get("Member.age=30", () -> 3);
+
+        //then
+        assertThat(count).isEqualTo(3);
+        assertThat(countCache.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void clearedWhenTooManyKeys() {
+        //given
+        CountCache countCache = new CountCache(Duration.ofMinutes(1));
+
+        //when
+        for (int age = 0; age <= CountCache.MAX_ENTRIES; age++) {
+            countCache.get("Member.age=" + age, () -> 1);
+        }
+
+        //then
+        assertThat(countCache.size()).isLessThanOrEqualTo(CountCache.MAX_ENTRIES);
+    }
+}
@@ -5,6 +5,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import study.datajpa.entity.Item;
 
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
@@ -18,4 +22,16 @@ class ItemRepositoryTest {
         Item item = new Item("A");
         itemRepository.save(item);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void saveAllNew() {
+        //when
+        List<String> ids = itemRepository.saveAllNew(Arrays.asList(new Item("B1"), new Item("B2"), new Item("B3")));
+
+        //then
+        assertThat(ids).containsExactly("B1", "B2", "B3");
+        Item findItem = itemRepository.findById("B2").get();
+        assertThat(findItem.isNew()).isFalse(); //조회한 엔티티는 save() 시 merge
+        assertThat(findItem.getCreatedDate()).isNotNull();
+    }
+}
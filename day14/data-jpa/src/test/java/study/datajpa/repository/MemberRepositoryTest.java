@@ -6,6 +6,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.test.annotation.Rollback;
 import org.springframework.transaction.annotation.Transactional;
@@ -15,6 +16,7 @@ import study.datajpa.entity.Team;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -223,6 +225,30 @@ public class MemberRepositoryTest {
         assertThat(page.hasNext()).isTrue(); //다음 페이지가 있는가?
     }
 
+    @Test
+    @Rollback   //다른 테스트의 회원 수에 영향을 주지 않도록
+    public void pagingMode() throws Exception {
+        //given
+        for (int i = 1; i <= 5; i++) {
+            memberRepository.save(new Member("pagingMember" + i, 33));
+        }
+        PageRequest pageRequest = PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "username"));
+
+        //when
+        Slice<Member> slice = memberRepository.findByAge(33, ModePageRequest.of(pageRequest, PagingMode.SLICE));
+        Slice<Member> cached = memberRepository.findByAge(33, ModePageRequest.of(pageRequest, PagingMode.CACHED_COUNT));
+        memberRepository.save(new Member("pagingMember6", 33));
+        Slice<Member> cachedAgain = memberRepository.findByAge(33, ModePageRequest.of(pageRequest, PagingMode.CACHED_COUNT));
+
+        //then
+        assertThat(slice).isNotInstanceOf(Page.class); //count 쿼리 없음
+        assertThat(slice.getContent()).extracting("username")
+                .containsExactly("pagingMember5", "pagingMember4", "pagingMember3");
+        assertThat(slice.hasNext()).isTrue();
+
+        assertThat(((Page<Member>) cached).getTotalElements()).isEqualTo(5);
+        assertThat(((Page<Member>) cachedAgain).getTotalElements()).isEqualTo(5); //TTL 동안은 캐시된 count
+    }
 
     @PersistenceContext
     EntityManager em;
@@ -353,4 +379,22 @@ public class MemberRepositoryTest {
         //then
     }
 
-}
\ No newline at end of file
+    @Test
+    @Rollback   //다른 테스트의 회원 수에 영향을 주지 않도록
+    public void saveAllBatched() {
+        //given
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            members.add(new Member("batched" + i, 10));
+        }
+
+        //when
+        BatchSaveResult result = memberRepository.saveAllBatched(members, 10);
+
+        //then
+        assertThat(result.getCount()).isEqualTo(25);
+        assertThat(em.contains(members.get(24))).isFalse(); //flush 후 clear 되어 영속성 컨텍스트에 남지 않는다
+        assertThat(memberRepository.findById(members.get(0).getId())).isPresent();
+    }
+
+}